@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes minimal class files, so that synthetic classpaths can be generated
+ * without a bytecode library.
+ */
+public final class ClassFileWriter {
+    private static final int JAVA_7 = 51;
+    private static final int ACC_PUBLIC = 0x0001, ACC_SUPER = 0x0020;
+    private static final int CONSTANT_UTF8 = 1, CONSTANT_CLASS = 7;
+
+    /**
+     * Creates a public class extending {@link Object} with no members.
+     *
+     * @param name The binary name, such as <code>a.b.C</code>
+     * @return The class file
+     */
+    public static byte[] emptyClass(String name) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(JAVA_7);
+
+            // constant pool: #1 this class, #2 its name, #3 super class, #4 its name
+            out.writeShort(5);
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(2);
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(name.replace('.', '/'));
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(4);
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF("java/lang/Object");
+
+            out.writeShort(ACC_PUBLIC | ACC_SUPER);
+            out.writeShort(1);
+            out.writeShort(3);
+
+            // no interfaces, fields, methods or attributes
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+
+        return bytes.toByteArray();
+    }
+}
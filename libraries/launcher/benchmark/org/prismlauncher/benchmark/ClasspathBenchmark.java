@@ -0,0 +1,256 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Generates synthetic classpaths of increasing size and measures how the time
+ * until the main class is entered, and until it has loaded its share of the
+ * classes, scales with them.
+ *
+ * <pre>
+ * java -cp NewLaunchBenchmarks.jar:NewLaunch.jar \
+ *     org.prismlauncher.benchmark.ClasspathBenchmark [options]
+ *
+ *   --jars [n,n,...]    classpath sizes (default 10,100,500,2000)
+ *   --classes [n]       classes per jar (default 50)
+ *   --resources [n]     resources per jar (default 10)
+ *   --overlap [0-1]     share of classes in packages split across jars (default 0.1)
+ *   --touch [0-1]       share of classes the main class loads (default 0.5)
+ *   --iterations [n]    launches per size (default 5)
+ *   --warmup [n]        launches per size to discard first (default 1)
+ *   --dir [path]        where to generate the jars (default: a temporary directory, deleted afterwards)
+ *   --java [path]       java executable (default: this one)
+ *   --jvm-arg [arg]     extra JVM argument, may be repeated
+ * </pre>
+ */
+public final class ClasspathBenchmark {
+    // packages per jar, and packages shared between all jars
+    private static final int OWN_PACKAGES = 5, SHARED_PACKAGES = 10;
+    private static final int RESOURCE_SIZE = 1024;
+
+    private int[] jarCounts = { 10, 100, 500, 2000 };
+    private int classes = 50, resources = 10;
+    private double overlap = 0.1, touch = 0.5;
+
+    public static void main(String[] args) throws Exception {
+        ClasspathBenchmark benchmark = new ClasspathBenchmark();
+        int iterations = 5, warmup = 1;
+        File dir = null;
+        String java = new File(System.getProperty("java.home"), "bin/java").getPath();
+        List<String> jvmArgs = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--jars":
+                    String[] counts = args[++i].split(",");
+                    benchmark.jarCounts = new int[counts.length];
+
+                    for (int j = 0; j < counts.length; j++)
+                        benchmark.jarCounts[j] = Integer.parseInt(counts[j].trim());
+
+                    break;
+
+                case "--classes":
+                    benchmark.classes = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--resources":
+                    benchmark.resources = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--overlap":
+                    benchmark.overlap = Double.parseDouble(args[++i]);
+                    break;
+
+                case "--touch":
+                    benchmark.touch = Double.parseDouble(args[++i]);
+                    break;
+
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--dir":
+                    dir = new File(args[++i]);
+                    break;
+
+                case "--java":
+                    java = args[++i];
+                    break;
+
+                case "--jvm-arg":
+                    jvmArgs.add(args[++i]);
+                    break;
+
+                default:
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        boolean temporary = dir == null;
+        if (temporary)
+            dir = Files.createTempDirectory("newlaunch-classpath").toFile();
+
+        Map<String, Samples> results = new LinkedHashMap<>();
+
+        try {
+            for (int jars : benchmark.jarCounts) {
+                File sizeDir = new File(dir, Integer.toString(jars));
+                File classList = benchmark.generate(sizeDir, jars);
+
+                // relative entries keep the command line short with thousands of jars,
+                // but this JVM's own entries are relative to a different directory
+                StringBuilder classpath = new StringBuilder(LaunchRunner.absolute(System.getProperty("java.class.path")));
+                for (int jar = 0; jar < jars; jar++)
+                    classpath.append(File.pathSeparatorChar).append(jar).append(".jar");
+
+                LaunchRunner runner = new LaunchRunner(java, jvmArgs, classpath.toString());
+                runner.setDirectory(sizeDir);
+
+                Map<String, List<String>> script = new LinkedHashMap<>();
+                script.put("mainClass", Collections.singletonList(SyntheticMain.class.getName()));
+                script.put("param", Collections.singletonList(classList.getAbsolutePath()));
+                script.put("launcher", Collections.singletonList("standard"));
+
+                Samples toMain = new Samples(), toLastClass = new Samples();
+
+                for (int i = 0; i < warmup + iterations; i++) {
+                    Map<String, Long> timings = runner.run(script, false);
+
+                    if (i < warmup)
+                        continue;
+
+                    toMain.add(timings.get("Until Main entered"));
+                    toLastClass.add(timings.get("Until Last class loaded"));
+                }
+
+                results.put(jars + " jars, until main", toMain);
+                results.put(jars + " jars, until last class", toLastClass);
+            }
+        } finally {
+            if (temporary)
+                delete(dir);
+        }
+
+        System.out.printf("%d classes and %d resources per jar, %.0f%% in split packages, %.0f%% of classes loaded%n",
+                benchmark.classes,
+                benchmark.resources,
+                benchmark.overlap * 100,
+                benchmark.touch * 100);
+        Report.printTimings(System.out, "Classpath", results);
+    }
+
+    /**
+     * Generates the jars for one classpath size.
+     *
+     * @param dir  The directory to generate in
+     * @param jars The number of jars
+     * @return A file listing the classes the main class should load
+     * @throws IOException
+     */
+    private File generate(File dir, int jars) throws IOException {
+        dir.mkdirs();
+
+        // always the same classpath for the same options
+        Random random = new Random(jars);
+        List<String> names = new ArrayList<>(jars * classes);
+        byte[] resource = new byte[RESOURCE_SIZE];
+
+        for (int jar = 0; jar < jars; jar++) {
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(new File(dir, jar + ".jar").toPath()))) {
+                for (int index = 0; index < classes; index++) {
+                    String pkg;
+
+                    if (random.nextDouble() < overlap)
+                        pkg = "synthetic.shared.p" + random.nextInt(SHARED_PACKAGES);
+                    else
+                        pkg = "synthetic.j" + jar + ".p" + random.nextInt(OWN_PACKAGES);
+
+                    String name = pkg + ".C" + jar + '_' + index;
+                    names.add(name);
+
+                    out.putNextEntry(new ZipEntry(name.replace('.', '/') + ".class"));
+                    out.write(ClassFileWriter.emptyClass(name));
+                    out.closeEntry();
+                }
+
+                for (int index = 0; index < resources; index++) {
+                    random.nextBytes(resource);
+
+                    out.putNextEntry(new ZipEntry("assets/synthetic/j" + jar + "/r" + index + ".bin"));
+                    out.write(resource);
+                    out.closeEntry();
+                }
+            }
+        }
+
+        Collections.shuffle(names, random);
+
+        File classList = new File(dir, "classes.txt");
+        Files.write(classList.toPath(), names.subList(0, (int) Math.round(names.size() * touch)), StandardCharsets.UTF_8);
+
+        return classList;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+
+        if (children != null) {
+            for (File child : children)
+                delete(child);
+        }
+
+        file.delete();
+    }
+}
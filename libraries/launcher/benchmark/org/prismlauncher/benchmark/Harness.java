@@ -0,0 +1,253 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A small microbenchmark harness, in the spirit of JMH but without the need to
+ * download it. Each benchmark runs for a number of timed warm-up iterations,
+ * then measurement iterations; the median time per operation is reported
+ * together with the bytes allocated per operation and the garbage collections
+ * which happened while measuring.
+ * <p>
+ * Recognised arguments:
+ *
+ * <pre>
+ *   --warmup [n]       warm-up iterations (default 5)
+ *   --iterations [n]   measurement iterations (default 10)
+ *   --time [ms]        length of each iteration (default 200)
+ *   --filter [regex]   only run benchmarks whose name contains a match
+ * </pre>
+ */
+public final class Harness {
+    private static final long CALIBRATION_NANOS = 1000000;
+
+    // read on every operation so that results cannot be optimised away
+    private static volatile Object sentinel = new Object();
+    private static volatile Object sink;
+
+    private final Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+    private final Method allocatedBytes;
+
+    public Harness() {
+        Method method = null;
+
+        try {
+            Class<?> extension = Class.forName("com.sun.management.ThreadMXBean");
+
+            if (extension.isInstance(ManagementFactory.getThreadMXBean()))
+                method = extension.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ClassNotFoundException | NoSuchMethodException ignored) {
+            // allocation will not be reported
+        }
+
+        allocatedBytes = method;
+    }
+
+    public Harness add(String name, Benchmark benchmark) {
+        benchmarks.put(name, benchmark);
+
+        return this;
+    }
+
+    public void run(String[] args, PrintStream out) throws Throwable {
+        int warmup = 5, iterations = 10;
+        long time = 200;
+        Pattern filter = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--time":
+                    time = Long.parseLong(args[++i]);
+                    break;
+
+                case "--filter":
+                    filter = Pattern.compile(args[++i]);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        String format = "%-48s %14s %12s %12s %8s %10s%n";
+        out.printf(format, "Benchmark", "ns/op", "ops/s", "B/op", "GCs", "GC time");
+
+        for (Map.Entry<String, Benchmark> entry : benchmarks.entrySet()) {
+            if (filter != null && !filter.matcher(entry.getKey()).find())
+                continue;
+
+            Result result = measure(entry.getValue(), warmup, iterations, time * 1000000);
+
+            out.printf(format,
+                    entry.getKey(),
+                    String.format("%.1f", result.nanosPerOp),
+                    String.format("%.0f", 1e9 / result.nanosPerOp),
+                    result.bytesPerOp < 0 ? "?" : String.format("%.1f", result.bytesPerOp),
+                    result.gcCount,
+                    result.gcMillis + "ms");
+        }
+    }
+
+    private Result measure(Benchmark benchmark, int warmup, int iterations, long nanos) throws Throwable {
+        int batch = calibrate(benchmark);
+
+        for (int i = 0; i < warmup; i++)
+            iteration(benchmark, batch, nanos);
+
+        // in picoseconds, to keep precision for very fast operations
+        long[] picosPerOp = new long[iterations];
+        long totalOps = 0;
+        long bytesBefore = allocatedBytes();
+        long gcCountBefore = gcCount(), gcMillisBefore = gcMillis();
+
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            long ops = iteration(benchmark, batch, nanos);
+
+            picosPerOp[i] = (System.nanoTime() - start) * 1000 / ops;
+            totalOps += ops;
+        }
+
+        long bytesAfter = allocatedBytes();
+
+        Samples samples = new Samples();
+        for (long value : picosPerOp)
+            samples.add(value);
+
+        Result result = new Result();
+        result.nanosPerOp = samples.median() / 1000.0;
+        result.bytesPerOp = bytesBefore < 0 ? -1 : (double) (bytesAfter - bytesBefore) / totalOps;
+        result.gcCount = gcCount() - gcCountBefore;
+        result.gcMillis = gcMillis() - gcMillisBefore;
+
+        return result;
+    }
+
+    // finds how many operations take roughly a millisecond, so the clock is not read too often
+    private static int calibrate(Benchmark benchmark) throws Throwable {
+        int batch = 1;
+
+        while (batch < (1 << 24)) {
+            long start = System.nanoTime();
+
+            for (int i = 0; i < batch; i++)
+                consume(benchmark.run());
+
+            if (System.nanoTime() - start >= CALIBRATION_NANOS)
+                break;
+
+            batch *= 2;
+        }
+
+        return batch;
+    }
+
+    private static long iteration(Benchmark benchmark, int batch, long nanos) throws Throwable {
+        long deadline = System.nanoTime() + nanos;
+        long ops = 0;
+
+        do {
+            for (int i = 0; i < batch; i++)
+                consume(benchmark.run());
+
+            ops += batch;
+        } while (System.nanoTime() < deadline);
+
+        return ops;
+    }
+
+    private static void consume(Object result) {
+        if (result == sentinel)
+            sink = result;
+    }
+
+    private long allocatedBytes() {
+        if (allocatedBytes == null)
+            return -1;
+
+        try {
+            return (Long) allocatedBytes.invoke(ManagementFactory.getThreadMXBean(), Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return -1;
+        }
+    }
+
+    private static long gcCount() {
+        long result = 0;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            result += Math.max(0, collector.getCollectionCount());
+
+        return result;
+    }
+
+    private static long gcMillis() {
+        long result = 0;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            result += Math.max(0, collector.getCollectionTime());
+
+        return result;
+    }
+
+    /**
+     * A single operation to measure. The result is consumed by the harness.
+     */
+    public interface Benchmark {
+        Object run() throws Throwable;
+    }
+
+    private static final class Result {
+        private double nanosPerOp, bytesPerOp;
+        private long gcCount, gcMillis;
+    }
+}
@@ -0,0 +1,255 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import org.prismlauncher.launcher.impl.StandardLauncher;
+import org.prismlauncher.script.ScriptReader;
+import org.prismlauncher.script.TextScriptReader;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.ReflectionUtils;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Microbenchmarks for the code NewLaunch runs on every launch, using a script
+ * shaped like that of a large modpack.
+ *
+ * <pre>
+ * java -cp NewLaunchBenchmarks.jar:NewLaunch.jar \
+ *     org.prismlauncher.benchmark.LaunchPathBenchmark [harness options]
+ * </pre>
+ */
+public final class LaunchPathBenchmark {
+    private static final int PARAMS = 400, TRAITS = 40;
+
+    public static void main(String[] args) throws Throwable {
+        PrintStream console = System.out;
+
+        // Log keeps whatever System.out is when it is first used, so make sure that
+        // is somewhere quiet
+        System.setOut(new PrintStream(new NullOutputStream()));
+        System.setErr(new PrintStream(new NullOutputStream()));
+
+        final Map<String, List<String>> script = createScript();
+        final List<String> lines = toLines(script);
+        final byte[] text = ScriptWriter.writeText(script);
+        final byte[] binary = ScriptWriter.writeBinary(script);
+        final Parameters params = read(text);
+        final String multiLine = "First line of a message\nsecond line\nthird line\nfourth line";
+
+        new Harness()
+                .add("TextScriptReader.parseLine (whole script)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        Parameters result = new Parameters();
+
+                        for (String line : lines)
+                            TextScriptReader.parseLine(line, result);
+
+                        return result;
+                    }
+                })
+                .add("ScriptReader (text)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return read(text);
+                    }
+                })
+                .add("ScriptReader (binary)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return read(binary);
+                    }
+                })
+                .add("Parameters.getList", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        return params.getList("param");
+                    }
+                })
+                .add("Parameters.getString", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        return params.getString("windowParams");
+                    }
+                })
+                .add("Parameters.getString (missing)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        return params.getString("serverAddress", null);
+                    }
+                })
+                .add("StandardLauncher construction", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        return new StandardLauncher(params);
+                    }
+                })
+                .add("StandardLauncher.launch (stand-in main)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        // launch adds to the list it is given, so start from a copy each time
+                        Parameters copy = new Parameters();
+
+                        for (Map.Entry<String, List<String>> entry : script.entrySet()) {
+                            for (String value : entry.getValue())
+                                copy.add(entry.getKey(), value);
+                        }
+
+                        StandardLauncher launcher = new StandardLauncher(copy);
+                        launcher.launch();
+
+                        return launcher;
+                    }
+                })
+                .add("ReflectionUtils.findMainMethod (class)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return ReflectionUtils.findMainMethod(StandInMain.class);
+                    }
+                })
+                .add("ReflectionUtils.findMainMethod (name)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return ReflectionUtils.findMainMethod(StandInMain.class.getName());
+                    }
+                })
+                .add("Log.launcher (single line)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        Log.launcher("A single line message");
+                        return null;
+                    }
+                })
+                .add("Log.warning (four lines)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        Log.warning(multiLine);
+                        return null;
+                    }
+                })
+                // must stay last, as asynchronous logging cannot be turned off again
+                .add("Log.warning (four lines, async)", new Harness.Benchmark() {
+                    private boolean configured;
+
+                    @Override
+                    public Object run() {
+                        if (!configured) {
+                            Parameters async = new Parameters();
+                            async.add("logAsync", "true");
+                            async.add("logOverflow", "drop-oldest");
+                            Log.configure(async);
+
+                            configured = true;
+                        }
+
+                        Log.warning(multiLine);
+                        return null;
+                    }
+                })
+                .run(args, console);
+    }
+
+    private static Parameters read(byte[] script) throws Exception {
+        Parameters result = new Parameters();
+        ScriptReader.open(new ByteArrayInputStream(script)).read(result);
+
+        return result;
+    }
+
+    private static Map<String, List<String>> createScript() {
+        Map<String, List<String>> script = new LinkedHashMap<>();
+        List<String> params = new ArrayList<>(PARAMS);
+        List<String> traits = new ArrayList<>(TRAITS);
+
+        for (int i = 0; i < PARAMS / 2; i++) {
+            params.add("--option" + i);
+            params.add("/home/user/.local/share/PrismLauncher/instances/Large Modpack/minecraft/value" + i);
+        }
+
+        for (int i = 0; i < TRAITS; i++)
+            traits.add("feature:trait_" + i);
+
+        traits.add("feature:is_quick_play_multiplayer");
+
+        script.put("mainClass", Arrays.asList(StandInMain.class.getName()));
+        script.put("param", params);
+        script.put("windowTitle", Arrays.asList("Prism Launcher: Large Modpack"));
+        script.put("windowParams", Arrays.asList("1920x1080"));
+        script.put("launcherBrand", Arrays.asList("PrismLauncher"));
+        script.put("launcherVersion", Arrays.asList("9.0"));
+        script.put("instanceName", Arrays.asList("Large Modpack"));
+        script.put("instanceIconKey", Arrays.asList("Large Modpack"));
+        script.put("instanceIconPath", Arrays.asList("icon.png"));
+        script.put("userName", Arrays.asList("Player"));
+        script.put("sessionId", Arrays.asList("token:0123456789abcdef:0123456789abcdef"));
+        script.put("traits", traits);
+        script.put("launcher", Arrays.asList("standard"));
+
+        return script;
+    }
+
+    private static List<String> toLines(Map<String, List<String>> script) {
+        List<String> lines = new ArrayList<>();
+
+        for (Map.Entry<String, List<String>> entry : script.entrySet()) {
+            for (String value : entry.getValue())
+                lines.add(entry.getKey() + ' ' + value);
+        }
+
+        lines.add("launch");
+
+        return lines;
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
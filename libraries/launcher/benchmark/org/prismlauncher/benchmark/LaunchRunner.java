@@ -0,0 +1,192 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts NewLaunch in a fresh JVM, feeds it a launch script and collects the
+ * phase timings from its trace.
+ */
+public final class LaunchRunner {
+    // matches the events written by org.prismlauncher.utils.Trace, one per line
+    private static final Pattern EVENT =
+            Pattern.compile("^\\{\"name\":\"((?:[^\"\\\\]|\\\\.)*)\",\"cat\":\"newlaunch\",\"ph\":\"(X|i)\"(?:,\"s\":\"p\")?(?:,\"dur\":(\\d+))?,\"ts\":(\\d+),\"pid\":1,\"tid\":(\\d+)\\}");
+    // matches the ID of the thread which ran the launch, written before the events
+    private static final Pattern MAIN_THREAD = Pattern.compile("\"otherData\":\\{\"mainThread\":(\\d+)\\}");
+
+    private final String java;
+    private final List<String> jvmArgs;
+    private final String classpath;
+    private File directory;
+
+    public LaunchRunner(String java, List<String> jvmArgs, String classpath) {
+        this.java = java;
+        this.jvmArgs = jvmArgs;
+        this.classpath = classpath;
+    }
+
+    /**
+     * Makes every entry of a classpath absolute, so that it still works from
+     * another working directory.
+     *
+     * @param classpath The classpath
+     * @return The classpath with absolute entries
+     */
+    public static String absolute(String classpath) {
+        StringBuilder result = new StringBuilder();
+
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (entry.isEmpty())
+                continue;
+
+            if (result.length() > 0)
+                result.append(File.pathSeparatorChar);
+
+            result.append(new File(entry).getAbsolutePath());
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Sets the working directory of the launched JVM. Relative classpath entries
+     * are resolved against it.
+     *
+     * @param directory The directory
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Runs a single launch.
+     *
+     * @param script The script, without <code>launch</code>
+     * @param binary Whether to use the binary script format
+     * @return Timings in microseconds, keyed in the same way as the startup history
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    public Map<String, Long> run(Map<String, List<String>> script, boolean binary) throws IOException, InterruptedException {
+        File trace = File.createTempFile("newlaunch-trace", ".json");
+        File log = File.createTempFile("newlaunch-output", ".log");
+
+        try {
+            Map<String, List<String>> copy = new LinkedHashMap<>(script);
+            copy.put("traceFile", Collections.singletonList(trace.getAbsolutePath()));
+
+            byte[] encoded = binary ? ScriptWriter.writeBinary(copy) : ScriptWriter.writeText(copy);
+
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmArgs);
+            command.add("-cp");
+            command.add(classpath);
+            command.add("org.prismlauncher.EntryPoint");
+
+            long start = System.nanoTime();
+
+            Process process = new ProcessBuilder(command).directory(directory).redirectErrorStream(true).redirectOutput(log).start();
+
+            try (OutputStream in = process.getOutputStream()) {
+                in.write(encoded);
+            }
+
+            int exitCode = process.waitFor();
+            long wall = System.nanoTime() - start;
+
+            if (exitCode != 0) {
+                throw new IOException("NewLaunch exited with " + exitCode + ":\n"
+                        + new String(Files.readAllBytes(log.toPath()), StandardCharsets.UTF_8));
+            }
+
+            Map<String, Long> timings = readTrace(trace);
+            timings.put("Process", wall / 1000);
+
+            return timings;
+        } finally {
+            trace.delete();
+            log.delete();
+        }
+    }
+
+    private static Map<String, Long> readTrace(File file) throws IOException {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        String mainThread = null;
+
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            if (mainThread == null) {
+                Matcher header = MAIN_THREAD.matcher(line);
+
+                if (header.find()) {
+                    mainThread = header.group(1);
+                    continue;
+                }
+            }
+
+            Matcher matcher = EVENT.matcher(line);
+            if (!matcher.find())
+                continue;
+
+            String name = matcher.group(1);
+
+            // only the main thread, as worker threads overlap with it
+            if (mainThread != null && !mainThread.equals(matcher.group(5)))
+                continue;
+
+            if ("i".equals(matcher.group(2))) {
+                timings.put("Until " + name, Long.parseLong(matcher.group(4)));
+            } else {
+                Long previous = timings.get(name);
+                timings.put(name, (previous != null ? previous : 0) + Long.parseLong(matcher.group(3)));
+            }
+        }
+
+        return timings;
+    }
+}
@@ -0,0 +1,120 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import org.prismlauncher.legacy.utils.Base64;
+import org.prismlauncher.legacy.utils.SkinConverter;
+import org.prismlauncher.legacy.utils.api.MojangApi;
+import org.prismlauncher.legacy.utils.json.JsonParser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Microbenchmarks for the utilities behind the legacy online fixes, which run
+ * whenever a player joins a server on an old version. The B/op and GC columns
+ * give the allocation cost.
+ *
+ * <pre>
+ * java -Djava.awt.headless=true -cp NewLaunchBenchmarks.jar:NewLaunch.jar:NewLaunchLegacy.jar \
+ *     org.prismlauncher.benchmark.LegacyBenchmark [harness options]
+ * </pre>
+ */
+public final class LegacyBenchmark {
+    public static void main(String[] args) throws Throwable {
+        final LegacyCorpus corpus = new LegacyCorpus();
+        final byte[] profile = corpus.profile.getBytes(StandardCharsets.UTF_8);
+
+        System.out.printf("Corpus: profile %d B, textures %d B, large document %d B, skins %d/%d/%d B%n%n",
+                corpus.profile.length(),
+                corpus.texturesPayload.length(),
+                corpus.largeDocument.length(),
+                corpus.classicSkin.length,
+                corpus.slimSkin.length,
+                corpus.legacySkin.length);
+
+        new Harness()
+                .add("JsonParser.parse (profile)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return JsonParser.parse(corpus.profile);
+                    }
+                })
+                .add("JsonParser.parse (textures)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return JsonParser.parse(corpus.texturesPayload);
+                    }
+                })
+                .add("JsonParser.parse (large nested document)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return JsonParser.parse(corpus.largeDocument);
+                    }
+                })
+                .add("Base64.decode (textures)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() {
+                        return Base64.decode(corpus.texturesValue);
+                    }
+                })
+                .add("MojangApi.readTextures (profile)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return MojangApi.readTextures(new ByteArrayInputStream(profile));
+                    }
+                })
+                .add("SkinConverter.toClassic (64x64 classic)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return SkinConverter.toClassic(new ByteArrayInputStream(corpus.classicSkin), false);
+                    }
+                })
+                .add("SkinConverter.toClassic (64x64 slim)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return SkinConverter.toClassic(new ByteArrayInputStream(corpus.slimSkin), true);
+                    }
+                })
+                .add("SkinConverter.toClassic (64x32)", new Harness.Benchmark() {
+                    @Override
+                    public Object run() throws Throwable {
+                        return SkinConverter.toClassic(new ByteArrayInputStream(corpus.legacySkin), false);
+                    }
+                })
+                .run(args, System.out);
+    }
+}
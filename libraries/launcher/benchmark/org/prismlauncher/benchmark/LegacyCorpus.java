@@ -0,0 +1,179 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Generates the inputs for {@link LegacyBenchmark}. Everything is derived from
+ * a fixed seed, so the corpus is the same on every run and needs no network
+ * access.
+ */
+final class LegacyCorpus {
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final String UUID = "069a79f444e94726a5befca90e38aaf5";
+
+    private final Random random = new Random(0);
+
+    final String texturesPayload, texturesValue, profile, largeDocument;
+    final byte[] classicSkin, slimSkin, legacySkin;
+
+    LegacyCorpus() throws IOException {
+        texturesPayload = "{\n  \"timestamp\" : 1700000000000,\n  \"profileId\" : \"" + UUID + "\",\n"
+                + "  \"profileName\" : \"Notch\",\n  \"signatureRequired\" : true,\n  \"textures\" : {\n"
+                + "    \"SKIN\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/" + hex(64) + "\",\n"
+                + "      \"metadata\" : {\n        \"model\" : \"slim\"\n      }\n    },\n"
+                + "    \"CAPE\" : {\n      \"url\" : \"http://textures.minecraft.net/texture/" + hex(64) + "\"\n    }\n  }\n}";
+        texturesValue = base64(texturesPayload.getBytes(StandardCharsets.UTF_8));
+
+        byte[] signature = new byte[512];
+        random.nextBytes(signature);
+
+        profile = "{\"id\":\"" + UUID + "\",\"name\":\"Notch\",\"properties\":[{\"name\":\"textures\",\"value\":\"" + texturesValue
+                + "\",\"signature\":\"" + base64(signature) + "\"}],\"profileActions\":[]}";
+
+        StringBuilder builder = new StringBuilder();
+        nested(builder, 6);
+        largeDocument = builder.toString();
+
+        classicSkin = skin(64);
+        slimSkin = skin(64);
+        legacySkin = skin(32);
+    }
+
+    private void nested(StringBuilder builder, int depth) {
+        if (depth == 0) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    builder.append(random.nextInt(100000) - 50000);
+                    break;
+
+                case 1:
+                    builder.append(random.nextDouble() * 1e6);
+                    break;
+
+                case 2:
+                    builder.append("\"text with \\\"escapes\\\", \\u00e9 and a\\nnewline ").append(hex(8)).append('"');
+                    break;
+
+                default:
+                    builder.append(random.nextBoolean() ? "true" : "null");
+                    break;
+            }
+
+            return;
+        }
+
+        if (depth % 2 == 0) {
+            builder.append('{');
+
+            for (int i = 0; i < 4; i++) {
+                if (i != 0)
+                    builder.append(',');
+
+                builder.append("\n\"key").append(i).append("\": ");
+                nested(builder, depth - 1);
+            }
+
+            builder.append('}');
+        } else {
+            builder.append("[ ");
+
+            for (int i = 0; i < 4; i++) {
+                if (i != 0)
+                    builder.append(", ");
+
+                nested(builder, depth - 1);
+            }
+
+            builder.append(" ]");
+        }
+    }
+
+    private byte[] skin(int height) throws IOException {
+        BufferedImage image = new BufferedImage(64, height, BufferedImage.TYPE_INT_ARGB);
+
+        // blocks of colour rather than noise, to compress like a real skin
+        for (int y = 0; y < height; y += 4) {
+            for (int x = 0; x < 64; x += 4) {
+                int colour = random.nextInt() | 0xFF000000;
+
+                for (int dy = 0; dy < 4; dy++) {
+                    for (int dx = 0; dx < 4; dx++)
+                        image.setRGB(x + dx, y + dy, colour);
+                }
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+
+        return out.toByteArray();
+    }
+
+    private String hex(int length) {
+        StringBuilder builder = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++)
+            builder.append(Character.forDigit(random.nextInt(16), 16));
+
+        return builder.toString();
+    }
+
+    // java.util.Base64 is not available on Java 7
+    private static String base64(byte[] bytes) {
+        StringBuilder builder = new StringBuilder((bytes.length + 2) / 3 * 4);
+
+        for (int i = 0; i < bytes.length; i += 3) {
+            int remaining = bytes.length - i;
+            int chunk = (bytes[i] & 0xFF) << 16 | (remaining > 1 ? (bytes[i + 1] & 0xFF) << 8 : 0)
+                    | (remaining > 2 ? bytes[i + 2] & 0xFF : 0);
+
+            builder.append(BASE64[chunk >> 18 & 0x3F]);
+            builder.append(BASE64[chunk >> 12 & 0x3F]);
+            builder.append(remaining > 1 ? BASE64[chunk >> 6 & 0x3F] : '=');
+            builder.append(remaining > 2 ? BASE64[chunk & 0x3F] : '=');
+        }
+
+        return builder.toString();
+    }
+}
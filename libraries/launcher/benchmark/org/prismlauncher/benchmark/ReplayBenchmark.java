@@ -0,0 +1,173 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import org.prismlauncher.script.PreLaunchAction;
+import org.prismlauncher.script.ScriptReader;
+import org.prismlauncher.utils.Parameters;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a launch script recorded with
+ * <code>-Dorg.prismlauncher.record=[path]</code> a number of times, with the
+ * game's main class swapped for a stand-in, and reports the spread of each
+ * launch phase.
+ *
+ * <pre>
+ * java -cp NewLaunchBenchmarks.jar:NewLaunch.jar:NewLaunchLegacy.jar \
+ *     org.prismlauncher.benchmark.ReplayBenchmark [options] [script]
+ *
+ *   --iterations [n]     number of launches (default 20)
+ *   --warmup [n]         launches to discard first (default 3)
+ *   --main [class]       stand-in main class (default StandInMain)
+ *   --classpath [path]   classpath for the launched JVM (default: this one)
+ *   --java [path]        java executable (default: this one)
+ *   --jvm-arg [arg]      extra JVM argument, may be repeated
+ * </pre>
+ */
+public final class ReplayBenchmark {
+    public static void main(String[] args) throws Exception {
+        int iterations = 20, warmup = 3;
+        String mainClass = StandInMain.class.getName();
+        String classpath = System.getProperty("java.class.path");
+        String java = new File(System.getProperty("java.home"), "bin/java").getPath();
+        List<String> jvmArgs = new ArrayList<>();
+        String scriptPath = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+
+                case "--main":
+                    mainClass = args[++i];
+                    break;
+
+                case "--classpath":
+                    classpath = args[++i];
+                    break;
+
+                case "--java":
+                    java = args[++i];
+                    break;
+
+                case "--jvm-arg":
+                    jvmArgs.add(args[++i]);
+                    break;
+
+                default:
+                    scriptPath = args[i];
+                    break;
+            }
+        }
+
+        if (scriptPath == null) {
+            System.err.println("Usage: ReplayBenchmark [options] [script]");
+            System.exit(1);
+        }
+
+        File script = new File(scriptPath);
+        boolean binary = isBinary(script);
+        Map<String, List<String>> entries = readScript(script);
+        entries.put("mainClass", Collections.singletonList(mainClass));
+
+        LaunchRunner runner = new LaunchRunner(java, jvmArgs, classpath);
+        Map<String, Samples> results = new LinkedHashMap<>();
+
+        for (int i = 0; i < warmup + iterations; i++) {
+            Map<String, Long> timings = runner.run(entries, binary);
+
+            if (i < warmup)
+                continue;
+
+            for (Map.Entry<String, Long> timing : timings.entrySet()) {
+                Samples samples = results.get(timing.getKey());
+
+                if (samples == null) {
+                    samples = new Samples();
+                    results.put(timing.getKey(), samples);
+                }
+
+                samples.add(timing.getValue());
+            }
+        }
+
+        System.out.println("Replayed " + script + " (" + (binary ? "binary" : "text") + ") " + iterations + " times");
+        Report.printTimings(System.out, "Phase", results);
+    }
+
+    private static boolean isBinary(File script) throws IOException {
+        try (InputStream in = Files.newInputStream(script.toPath())) {
+            return in.read() == 0;
+        }
+    }
+
+    private static Map<String, List<String>> readScript(File script) throws IOException {
+        Parameters params = new Parameters();
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(script.toPath()))) {
+            PreLaunchAction action = ScriptReader.open(in).read(params);
+
+            if (action != PreLaunchAction.LAUNCH)
+                throw new IOException("Recorded script does not end with launch");
+        }
+
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+
+        for (String key : params.getKeys())
+            entries.put(key, params.getList(key));
+
+        // the stand-in does not need it, and replaying it would need network access
+        entries.remove("onlineFixes");
+
+        return entries;
+    }
+}
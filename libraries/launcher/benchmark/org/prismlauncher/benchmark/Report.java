@@ -0,0 +1,72 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * Prints timing summaries as plain text tables.
+ */
+public final class Report {
+    /**
+     * Prints min, median and p95 of each entry, in milliseconds.
+     *
+     * @param out     Where to print
+     * @param title   The heading of the first column
+     * @param samples Microsecond samples by name
+     */
+    public static void printTimings(PrintStream out, String title, Map<String, Samples> samples) {
+        int width = title.length();
+
+        for (String name : samples.keySet())
+            width = Math.max(width, name.length());
+
+        String format = "%-" + width + "s %10s %10s %10s %6s%n";
+
+        out.printf(format, title, "min", "median", "p95", "n");
+
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            Samples value = entry.getValue();
+
+            out.printf(format, entry.getKey(), millis(value.min()), millis(value.median()), millis(value.percentile(95)), value.size());
+        }
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2fms", micros / 1000.0);
+    }
+}
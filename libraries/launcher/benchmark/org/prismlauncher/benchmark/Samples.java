@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of measurements with simple order statistics.
+ */
+public final class Samples {
+    private long[] values = new long[16];
+    private int size;
+
+    public void add(long value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, size * 2);
+
+        values[size++] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long min() {
+        return percentile(0);
+    }
+
+    public long median() {
+        return percentile(50);
+    }
+
+    public long max() {
+        return percentile(100);
+    }
+
+    /**
+     * Gets a percentile using the nearest-rank method.
+     *
+     * @param percent The percentile, between 0 and 100
+     * @return The value, or 0 if there are no samples
+     */
+    public long percentile(double percent) {
+        if (size == 0)
+            return 0;
+
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+
+        int rank = (int) Math.ceil(percent / 100 * size);
+
+        return sorted[Math.max(0, Math.min(size - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.benchmark;
+
+import org.prismlauncher.script.BinaryScriptReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a launch script in either of the formats NewLaunch understands.
+ */
+public final class ScriptWriter {
+    public static byte[] writeText(Map<String, List<String>> script) {
+        StringBuilder builder = new StringBuilder();
+
+        for (Map.Entry<String, List<String>> entry : script.entrySet()) {
+            for (String value : entry.getValue()) {
+                if (value.indexOf('\n') != -1)
+                    throw new IllegalArgumentException("Value of '" + entry.getKey() + "' cannot be written as text");
+
+                builder.append(entry.getKey()).append(' ').append(value).append('\n');
+            }
+        }
+
+        builder.append("launch\n");
+
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] writeBinary(Map<String, List<String>> script) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(BinaryScriptReader.getMagic());
+            out.write(BinaryScriptReader.VERSION);
+
+            for (Map.Entry<String, List<String>> entry : script.entrySet()) {
+                if (entry.getValue().size() == 1) {
+                    out.write(BinaryScriptReader.PAIR);
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue().get(0));
+                } else {
+                    out.write(BinaryScriptReader.LIST);
+                    writeString(out, entry.getKey());
+                    out.writeInt(entry.getValue().size());
+
+                    for (String value : entry.getValue())
+                        writeString(out, value);
+                }
+            }
+
+            out.write(BinaryScriptReader.LAUNCH);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -57,7 +57,6 @@ package org.prismlauncher.legacy;
 
 import org.prismlauncher.launcher.impl.AbstractLauncher;
 import org.prismlauncher.utils.Parameters;
-import org.prismlauncher.utils.ReflectionUtils;
 import org.prismlauncher.utils.logging.Log;
 
 import java.applet.Applet;
@@ -108,6 +107,8 @@ final class LegacyLauncher extends AbstractLauncher {
             System.setProperty("minecraft.applet.TargetDirectory", gameDir);
 
             try {
+                handOver();
+
                 LegacyFrame window = new LegacyFrame(title, createAppletClass(appletClass));
 
                 window.start(user, session, width, height, maximize, serverAddress, serverPort, gameArgs.contains("--demo"));
@@ -119,8 +120,7 @@ final class LegacyLauncher extends AbstractLauncher {
 
         // find and invoke the main method, this time without size parameters - in all
         // versions that support applets, these are ignored
-        MethodHandle method = ReflectionUtils.findMainMethod(main);
-        method.invokeExact(gameArgs.toArray(new String[0]));
+        invokeMain(main);
     }
 
     private static Applet createAppletClass(String clazz) throws Throwable {
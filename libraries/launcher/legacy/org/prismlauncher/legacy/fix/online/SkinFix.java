@@ -52,23 +52,18 @@
 
 package org.prismlauncher.legacy.fix.online;
 
+import org.prismlauncher.legacy.utils.SkinConverter;
 import org.prismlauncher.legacy.utils.api.MojangApi;
 import org.prismlauncher.legacy.utils.api.Texture;
 import org.prismlauncher.legacy.utils.url.ByteArrayUrlConnection;
 import org.prismlauncher.legacy.utils.url.UrlUtils;
 
-import java.awt.AlphaComposite;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.Proxy;
 import java.net.URL;
 import java.net.URLConnection;
 
-import javax.imageio.ImageIO;
-
 final class SkinFix {
     static URLConnection openConnection(URL address, Proxy proxy) throws IOException {
         String skinOwner = findSkinOwner(address);
@@ -97,41 +92,7 @@ final class SkinFix {
 
         URLConnection connection = UrlUtils.openConnection(texture.getUrl(), proxy);
         try (InputStream in = connection.getInputStream()) {
-            // thank you ahnewark!
-            // this is heavily based on
-            // https://github.com/ahnewark/MineOnline/blob/4f4f86f9d051e0a6fd7ff0b95b2a05f7437683d7/src/main/java/gg/codie/mineonline/gui/textures/TextureHelper.java#L17
-            BufferedImage image = ImageIO.read(in);
-            Graphics2D graphics = image.createGraphics();
-            graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER));
-
-            BufferedImage subimage;
-
-            if (image.getHeight() > 32) {
-                // flatten second layers
-                subimage = image.getSubimage(0, 32, 56, 16);
-                graphics.drawImage(subimage, 0, 16, null);
-            }
-
-            if (texture.isSlim()) {
-                // convert slim to classic
-                subimage = image.getSubimage(45, 16, 9, 16);
-                graphics.drawImage(subimage, 46, 16, null);
-
-                subimage = image.getSubimage(49, 16, 2, 4);
-                graphics.drawImage(subimage, 50, 16, null);
-
-                subimage = image.getSubimage(53, 20, 2, 12);
-                graphics.drawImage(subimage, 54, 20, null);
-            }
-
-            graphics.dispose();
-
-            // crop the image - old versions disregard all secondary layers besides the hat
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            image = image.getSubimage(0, 0, 64, 32);
-            ImageIO.write(image, "png", out);
-
-            return new ByteArrayUrlConnection(out.toByteArray());
+            return new ByteArrayUrlConnection(SkinConverter.toClassic(in, texture.isSlim()));
         }
     }
 
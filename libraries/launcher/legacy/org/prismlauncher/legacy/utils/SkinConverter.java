@@ -0,0 +1,96 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.legacy.utils;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Converts modern skins to the 64x32 classic layout understood by old versions.
+ */
+public final class SkinConverter {
+    /**
+     * Reads a skin and converts it.
+     *
+     * @param in   The skin PNG
+     * @param slim Whether the skin uses the slim model
+     * @return The converted skin PNG
+     * @throws IOException
+     */
+    public static byte[] toClassic(InputStream in, boolean slim) throws IOException {
+        // thank you ahnewark!
+        // this is heavily based on
+        // https://github.com/ahnewark/MineOnline/blob/4f4f86f9d051e0a6fd7ff0b95b2a05f7437683d7/src/main/java/gg/codie/mineonline/gui/textures/TextureHelper.java#L17
+        BufferedImage image = ImageIO.read(in);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER));
+
+        BufferedImage subimage;
+
+        if (image.getHeight() > 32) {
+            // flatten second layers
+            subimage = image.getSubimage(0, 32, 56, 16);
+            graphics.drawImage(subimage, 0, 16, null);
+        }
+
+        if (slim) {
+            // convert slim to classic
+            subimage = image.getSubimage(45, 16, 9, 16);
+            graphics.drawImage(subimage, 46, 16, null);
+
+            subimage = image.getSubimage(49, 16, 2, 4);
+            graphics.drawImage(subimage, 50, 16, null);
+
+            subimage = image.getSubimage(53, 20, 2, 12);
+            graphics.drawImage(subimage, 54, 20, null);
+        }
+
+        graphics.dispose();
+
+        // crop the image - old versions disregard all secondary layers besides the hat
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        image = image.getSubimage(0, 0, 64, 32);
+        ImageIO.write(image, "png", out);
+
+        return out.toByteArray();
+    }
+}
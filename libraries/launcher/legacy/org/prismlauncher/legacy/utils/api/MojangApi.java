@@ -80,19 +80,30 @@ public final class MojangApi {
 
     public static Map<String, Object> getTextures(String player) throws IOException {
         try (InputStream profileIn = new URL("https://sessionserver.mojang.com/session/minecraft/profile/" + player).openStream()) {
-            Map<String, Object> profile = (Map<String, Object>) JsonParser.parse(profileIn);
+            return readTextures(profileIn);
+        }
+    }
 
-            for (Map<String, Object> property : (Iterable<Map<String, Object>>) profile.get("properties")) {
-                if (property.get("name").equals("textures")) {
-                    Map<String, Object> result =
-                            (Map<String, Object>) JsonParser.parse(new String(Base64.decode((String) property.get("value"))));
-                    result = (Map<String, Object>) result.get("textures");
+    /**
+     * Reads the textures from a profile returned by the session server.
+     *
+     * @param profileIn The profile JSON
+     * @return The textures, or <code>null</code> if the profile has none
+     * @throws IOException
+     */
+    public static Map<String, Object> readTextures(InputStream profileIn) throws IOException {
+        Map<String, Object> profile = (Map<String, Object>) JsonParser.parse(profileIn);
 
-                    return result;
-                }
-            }
+        for (Map<String, Object> property : (Iterable<Map<String, Object>>) profile.get("properties")) {
+            if (property.get("name").equals("textures")) {
+                Map<String, Object> result =
+                        (Map<String, Object>) JsonParser.parse(new String(Base64.decode((String) property.get("value"))));
+                result = (Map<String, Object>) result.get("textures");
 
-            return null;
+                return result;
+            }
         }
+
+        return null;
     }
 }
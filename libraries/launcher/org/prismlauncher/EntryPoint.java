@@ -54,19 +54,47 @@
 
 package org.prismlauncher;
 
-import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.control.ControlChannel;
 import org.prismlauncher.launcher.Launcher;
 import org.prismlauncher.launcher.impl.StandardLauncher;
 import org.prismlauncher.legacy.LegacyProxy;
+import org.prismlauncher.monitor.ClassGrowthMonitor;
+import org.prismlauncher.monitor.FlightRecording;
+import org.prismlauncher.monitor.GcMonitor;
+import org.prismlauncher.monitor.MemoryDiagnostics;
+import org.prismlauncher.monitor.MetricsEndpoint;
+import org.prismlauncher.monitor.MetricsSampler;
+import org.prismlauncher.monitor.OffHeapMonitor;
+import org.prismlauncher.monitor.Profiler;
+import org.prismlauncher.monitor.Watchdog;
+import org.prismlauncher.preload.ClassPreloader;
+import org.prismlauncher.script.PreLaunchAction;
+import org.prismlauncher.script.RecordingInputStream;
+import org.prismlauncher.script.ScriptReader;
+import org.prismlauncher.utils.Feature;
 import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.StartupHistory;
+import org.prismlauncher.utils.Trace;
+import org.prismlauncher.utils.logging.EventChannel;
 import org.prismlauncher.utils.logging.Log;
+import org.prismlauncher.utils.logging.OutputCapture;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 public final class EntryPoint {
     public static void main(String[] args) {
+        Trace.start();
+
+        // the properties are checked here, so that neither class is loaded
+        // unless it is wanted
+        if (Boolean.getBoolean(ClassPreloader.PROPERTY))
+            ClassPreloader.start();
+
+        if (Boolean.getBoolean(Standby.PROPERTY))
+            Standby.warmUp();
+
         ExitCode code = listen();
 
         if (code != ExitCode.NORMAL) {
@@ -78,16 +106,17 @@ public final class EntryPoint {
 
     private static ExitCode listen() {
         Parameters params = new Parameters();
-        PreLaunchAction action = PreLaunchAction.PROCEED;
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
-            while (action == PreLaunchAction.PROCEED) {
-                String line = reader.readLine();
-                if (line != null)
-                    action = parseLine(line, params);
-                else
-                    action = PreLaunchAction.ABORT;
-            }
+        InputStream in;
+        ScriptReader reader;
+        PreLaunchAction action;
+
+        Trace.Span span = Trace.begin("Read script");
+
+        // not closed here, as it may go on to be used for control commands
+        try {
+            in = openScript();
+            reader = ScriptReader.open(in);
+            action = reader.read(params);
         } catch (IllegalArgumentException e) {
             Log.fatal("Aborting due to wrong argument", e);
 
@@ -96,6 +125,8 @@ public final class EntryPoint {
             Log.fatal("Aborting due to exception", e);
 
             return ExitCode.ABORT;
+        } finally {
+            span.close();
         }
 
         if (action == PreLaunchAction.ABORT) {
@@ -104,12 +135,38 @@ public final class EntryPoint {
             return ExitCode.ABORT;
         }
 
-        SystemProperties.apply(params);
+        if (action == PreLaunchAction.DISCARD) {
+            Log.launcher("Discarded by the launcher");
+
+            return ExitCode.NORMAL;
+        }
+
+        Trace.instant("Launch received");
+        Trace.configure(params);
+
+        span = Trace.begin("Apply system properties");
+
+        try {
+            SystemProperties.apply(params);
+        } finally {
+            span.close();
+        }
 
         String launcherType = params.getString("launcher");
 
         try {
-            LegacyProxy.applyOnlineFixes(params);
+            configureFeatures(params, reader);
+
+            if (!Feature.CONTROL_CHANNEL.isEnabled() || !ControlChannel.isEnabled())
+                in.close();
+
+            span = Trace.begin("Apply online fixes");
+
+            try {
+                LegacyProxy.applyOnlineFixes(params);
+            } finally {
+                span.close();
+            }
 
             Launcher launcher;
 
@@ -136,34 +193,73 @@ public final class EntryPoint {
         } catch (Throwable e) {
             Log.fatal("Exception caught from launcher", e);
 
+            if (Feature.MEMORY_DIAGNOSTICS.isEnabled())
+                MemoryDiagnostics.crashed(e);
+
+            if (Feature.FLIGHT_RECORDING.isEnabled())
+                FlightRecording.crashed();
+
             return ExitCode.ERROR;
         }
     }
 
-    private static PreLaunchAction parseLine(String input, Parameters params) throws ParseException {
-        switch (input) {
-            case "":
-                return PreLaunchAction.PROCEED;
+    // those not asked for are left alone, so that their classes are not loaded
+    private static void configureFeatures(Parameters params, ScriptReader reader) {
+        Feature.configure(params);
 
-            case "launch":
-                return PreLaunchAction.LAUNCH;
+        if (Feature.EVENT_CHANNEL.isEnabled())
+            EventChannel.configure(params);
 
-            case "abort":
-                return PreLaunchAction.ABORT;
+        if (Feature.LOG.isEnabled())
+            Log.configure(params);
 
-            default:
-                String[] pair = input.split(" ", 2);
+        if (Feature.OUTPUT_CAPTURE.isEnabled())
+            OutputCapture.configure(params);
 
-                if (pair.length != 2)
-                    throw new ParseException(input, "[key] [value]");
+        if (Feature.METRICS_SAMPLER.isEnabled())
+            MetricsSampler.configure(params);
 
-                params.add(pair[0], pair[1]);
+        if (Feature.METRICS_ENDPOINT.isEnabled())
+            MetricsEndpoint.configure(params);
 
-                return PreLaunchAction.PROCEED;
-        }
+        if (Feature.WATCHDOG.isEnabled())
+            Watchdog.configure(params);
+
+        if (Feature.PROFILER.isEnabled())
+            Profiler.configure(params);
+
+        if (Feature.GC_MONITOR.isEnabled())
+            GcMonitor.configure(params);
+
+        if (Feature.FLIGHT_RECORDING.isEnabled())
+            FlightRecording.configure(params);
+
+        if (Feature.MEMORY_DIAGNOSTICS.isEnabled())
+            MemoryDiagnostics.configure(params);
+
+        if (Feature.OFF_HEAP_MONITOR.isEnabled())
+            OffHeapMonitor.configure(params);
+
+        if (Feature.CLASS_GROWTH_MONITOR.isEnabled())
+            ClassGrowthMonitor.configure(params);
+
+        if (Feature.STARTUP_HISTORY.isEnabled())
+            StartupHistory.configure(params);
+
+        if (Feature.CONTROL_CHANNEL.isEnabled())
+            ControlChannel.configure(params, reader);
     }
 
-    private enum PreLaunchAction { PROCEED, LAUNCH, ABORT }
+    private static InputStream openScript() throws IOException {
+        String recording = System.getProperty("org.prismlauncher.record");
+
+        if (recording == null)
+            return System.in;
+
+        Log.launcher("Recording launch script to " + recording);
+
+        return new RecordingInputStream(System.in, new FileOutputStream(recording));
+    }
 
     private enum ExitCode {
         NORMAL(0),
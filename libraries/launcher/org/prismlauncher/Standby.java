@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher;
+
+import org.prismlauncher.script.TextScriptReader;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.ReflectionUtils;
+import org.prismlauncher.utils.Trace;
+import org.prismlauncher.utils.logging.Log;
+
+/**
+ * Support for starting NewLaunch ahead of time, so that a spare JVM can wait
+ * with everything that does not depend on the launch script already done.
+ * Enabled with <code>-Dorg.prismlauncher.standby=true</code>.
+ * <p>
+ * Once warmed up, <code>!![Launcher]!Standby ready</code> is printed and the
+ * process waits for the script as usual. Sending <code>discard</code> instead
+ * makes it exit cleanly.
+ */
+public final class Standby {
+    public static final String PROPERTY = "org.prismlauncher.standby";
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    // loaded but not initialised, as some of them have side effects
+    private static final String[] CLASSES = {
+        "org.prismlauncher.SystemProperties",
+        "org.prismlauncher.exception.ParameterNotFoundException",
+        "org.prismlauncher.exception.ParseException",
+        "org.prismlauncher.launcher.Launcher",
+        "org.prismlauncher.launcher.impl.AbstractLauncher",
+        "org.prismlauncher.launcher.impl.StandardLauncher",
+        "org.prismlauncher.legacy.LegacyProxy",
+        "org.prismlauncher.script.BinaryScriptReader",
+    };
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void warmUp() {
+        Trace.Span span = Trace.begin("Standby warm-up");
+        long start = System.nanoTime();
+        ClassLoader loader = ClassLoader.getSystemClassLoader();
+
+        for (String name : CLASSES) {
+            try {
+                Class.forName(name, false, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                Log.debug("Could not preload " + name + ": " + e);
+            }
+        }
+
+        try {
+            // resolving a handle sets up most of java.lang.invoke ahead of time
+            ReflectionUtils.findMainMethod(EntryPoint.class);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            Log.debug("Could not resolve a main method handle: " + e);
+        }
+
+        // give the parser something to chew on, discarding the result
+        Parameters params = new Parameters();
+        TextScriptReader.parseLine("param --standby", params);
+        params.getList("param");
+        params.getString("launcher", null);
+
+        span.close();
+
+        Log.debug("Standby warm-up took " + (System.nanoTime() - start) / 1000000 + "ms");
+        Log.launcher("Standby ready");
+    }
+}
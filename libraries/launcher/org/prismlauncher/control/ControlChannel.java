@@ -0,0 +1,261 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.control;
+
+import org.prismlauncher.monitor.DiagnosticCommand;
+import org.prismlauncher.monitor.Profiler;
+import org.prismlauncher.monitor.ThreadDump;
+import org.prismlauncher.script.ScriptReader;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.Level;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+
+/**
+ * Keeps reading standard input once the game has started, enabled with
+ * <code>controlChannel true</code>. Each line is a command, and replies are
+ * logged. The commands are:
+ * <ul>
+ * <li><code>threads</code> - dumps all thread stacks</li>
+ * <li><code>histogram [n]</code> - shows the n classes using the most heap (20
+ * by default)</li>
+ * <li><code>heap</code> - shows the usage of each memory pool</li>
+ * <li><code>gc</code> - runs the garbage collector</li>
+ * <li><code>debug [on|off]</code> - shows or hides debug messages</li>
+ * <li><code>profile [start [hz]|stop]</code> - controls the sampling
+ * {@link Profiler}</li>
+ * <li><code>jfr [start|stop|dump] [jcmd options]</code> - controls a flight
+ * recording</li>
+ * <li><code>help</code> - lists the commands</li>
+ * </ul>
+ */
+public final class ControlChannel implements Runnable {
+    private static final int DEFAULT_HISTOGRAM_SIZE = 20;
+
+    private static ScriptReader script;
+
+    private final BufferedReader reader;
+
+    private ControlChannel(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the options from the launch script.
+     *
+     * @param params The parameters
+     * @param reader The reader the script came from, whose input is kept for
+     *               commands
+     */
+    public static void configure(Parameters params, ScriptReader reader) {
+        if ("true".equals(params.getString("controlChannel", null)))
+            script = reader;
+    }
+
+    /**
+     * @return Whether standard input should be left open for commands
+     */
+    public static boolean isEnabled() {
+        return script != null;
+    }
+
+    /**
+     * Starts reading commands, if enabled.
+     */
+    public static void start() {
+        if (script == null)
+            return;
+
+        Thread thread = new Thread(new ControlChannel(script.remainder()), "NewLaunch Control");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                if (line.isEmpty())
+                    continue;
+
+                try {
+                    execute(line);
+                } catch (Throwable e) {
+                    Log.error("Control command failed: " + line, e);
+                }
+            }
+        } catch (IOException e) {
+            Log.warning("Stopped reading control commands: " + e);
+        }
+    }
+
+    private static void execute(String line) throws Exception {
+        String[] args = line.split("\\s+");
+
+        switch (args[0]) {
+            case "threads":
+                reply("Thread dump", ThreadDump.all());
+                break;
+
+            case "histogram":
+                histogram(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HISTOGRAM_SIZE);
+                break;
+
+            case "heap":
+                reply("Heap", heap());
+                break;
+
+            case "gc": {
+                long before = usedHeap();
+                long start = System.nanoTime();
+
+                System.gc();
+
+                reply("GC", "Heap used went from " + before / 1024 + " KiB to " + usedHeap() / 1024 + " KiB in "
+                        + (System.nanoTime() - start) / 1000000 + " ms");
+                break;
+            }
+
+            case "debug":
+                if (args.length > 1)
+                    Log.setDebug("on".equals(args[1]));
+
+                reply("Debug", "Debug messages are " + (Log.isDebug() ? "on" : "off"));
+                break;
+
+            case "profile":
+                profile(args);
+                break;
+
+            case "jfr":
+                jfr(args);
+                break;
+
+            case "help":
+                reply("Help", "Commands: threads, histogram [n], heap, gc, debug [on|off], profile [start [hz]|stop], jfr [start|stop|dump] [options]");
+                break;
+
+            default:
+                Log.logRepeatable("Unknown control command: " + line, Level.WARNING);
+        }
+    }
+
+    private static void histogram(int size) throws Exception {
+        reply("Class histogram", DiagnosticCommand.classHistogram(size));
+    }
+
+    private static String heap() {
+        StringBuilder out = new StringBuilder();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getUsage();
+
+            out.append(pool.getName()).append(" (").append(pool.getType()).append("): ").append(usage.getUsed() / 1024)
+                    .append(" KiB used, ").append(usage.getCommitted() / 1024).append(" KiB committed");
+
+            if (usage.getMax() >= 0)
+                out.append(", ").append(usage.getMax() / 1024).append(" KiB max");
+
+            out.append('\n');
+        }
+
+        return out.toString();
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void profile(String[] args) throws Exception {
+        if (args.length > 1 && "start".equals(args[1])) {
+            int rate = args.length > 2 ? Profiler.parseRate(args[2]) : 0;
+
+            reply("Profiler", Profiler.start(rate) ? "Started" : "Already running");
+        } else if (args.length > 1 && "stop".equals(args[1])) {
+            File file = Profiler.stop();
+
+            reply("Profiler", file != null ? "Wrote " + file : "Not running");
+        } else
+            throw new IllegalArgumentException("Expected profile [start [hz]|stop]");
+    }
+
+    private static void jfr(String[] args) throws Exception {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Expected jfr [start|stop|dump] [options]");
+
+        String operation;
+
+        switch (args[1]) {
+            case "start":
+                operation = "jfrStart";
+                break;
+
+            case "stop":
+                operation = "jfrStop";
+                break;
+
+            case "dump":
+                operation = "jfrDump";
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown jfr command: " + args[1]);
+        }
+
+        String[] options = new String[args.length - 2];
+        System.arraycopy(args, 2, options, 0, options.length);
+
+        reply("JFR", DiagnosticCommand.invoke(operation, options));
+    }
+
+    private static void reply(String title, String body) {
+        if (body.endsWith("\n"))
+            body = body.substring(0, body.length() - 1);
+
+        // the same command may well be sent more than once
+        Log.logRepeatable(title + ":\n" + body, Level.LAUNCHER);
+    }
+}
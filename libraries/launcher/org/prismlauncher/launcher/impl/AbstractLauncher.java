@@ -54,10 +54,27 @@
 
 package org.prismlauncher.launcher.impl;
 
+import org.prismlauncher.control.ControlChannel;
 import org.prismlauncher.exception.ParseException;
 import org.prismlauncher.launcher.Launcher;
+import org.prismlauncher.monitor.ClassGrowthMonitor;
+import org.prismlauncher.monitor.FlightRecording;
+import org.prismlauncher.monitor.GcMonitor;
+import org.prismlauncher.monitor.MemoryDiagnostics;
+import org.prismlauncher.monitor.MetricsEndpoint;
+import org.prismlauncher.monitor.MetricsSampler;
+import org.prismlauncher.monitor.OffHeapMonitor;
+import org.prismlauncher.monitor.Profiler;
+import org.prismlauncher.monitor.Watchdog;
+import org.prismlauncher.preload.ClassPreloader;
+import org.prismlauncher.utils.Feature;
 import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.ReflectionUtils;
+import org.prismlauncher.utils.StartupHistory;
+import org.prismlauncher.utils.Trace;
+import org.prismlauncher.utils.logging.OutputCapture;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -74,6 +91,8 @@ public abstract class AbstractLauncher implements Launcher {
 
     protected final String mainClassName;
 
+    private boolean handedOver;
+
     protected AbstractLauncher(Parameters params) {
         gameArgs = params.getList("param", new ArrayList<String>());
         mainClassName = params.getString("mainClass", "net.minecraft.client.Minecraft");
@@ -106,4 +125,107 @@ public abstract class AbstractLauncher implements Launcher {
             throw new ParseException(windowParams, "[width]x[height]");
         }
     }
+
+    /**
+     * Finds the main method of a class and invokes it with {@link #gameArgs}.
+     *
+     * @param mainClass The main class
+     * @throws Throwable
+     */
+    protected void invokeMain(Class<?> mainClass) throws Throwable {
+        MethodHandle method;
+
+        if (Feature.FLIGHT_RECORDING.isEnabled())
+            FlightRecording.start();
+
+        Trace.Span span = Trace.begin("Find main method");
+
+        try {
+            method = ReflectionUtils.findMainMethod(mainClass);
+        } finally {
+            span.close();
+        }
+
+        handOver();
+        method.invokeExact(gameArgs.toArray(new String[0]));
+    }
+
+    /**
+     * Loads the main class by name, then finds its main method and invokes it
+     * with {@link #gameArgs}.
+     *
+     * @param mainClass The main class name
+     * @throws Throwable
+     */
+    protected void invokeMain(String mainClass) throws Throwable {
+        Class<?> clazz;
+
+        // before loading anything of the game's
+        if (Feature.FLIGHT_RECORDING.isEnabled())
+            FlightRecording.start();
+
+        Trace.Span span = Trace.begin("Load main class");
+
+        try {
+            clazz = ClassLoader.getSystemClassLoader().loadClass(mainClass);
+        } finally {
+            span.close();
+        }
+
+        invokeMain(clazz);
+    }
+
+    /**
+     * Finishes up anything which should not run alongside the game. Must be
+     * called right before control is handed to it.
+     */
+    protected void handOver() {
+        if (handedOver)
+            return;
+
+        handedOver = true;
+
+        if (Boolean.getBoolean(ClassPreloader.PROPERTY))
+            ClassPreloader.stop();
+
+        // in case the main method was not looked up by invokeMain
+        if (Feature.FLIGHT_RECORDING.isEnabled())
+            FlightRecording.start();
+
+        Trace.instant("Invoke main");
+        Trace.save();
+
+        if (Feature.STARTUP_HISTORY.isEnabled())
+            StartupHistory.record();
+
+        if (Feature.OUTPUT_CAPTURE.isEnabled())
+            OutputCapture.install();
+
+        if (Feature.METRICS_SAMPLER.isEnabled())
+            MetricsSampler.start();
+
+        if (Feature.METRICS_ENDPOINT.isEnabled())
+            MetricsEndpoint.start();
+
+        if (Feature.WATCHDOG.isEnabled())
+            Watchdog.start();
+
+        if (Feature.PROFILER.isEnabled())
+            Profiler.startConfigured();
+
+        if (Feature.GC_MONITOR.isEnabled())
+            GcMonitor.start();
+
+        if (Feature.MEMORY_DIAGNOSTICS.isEnabled())
+            MemoryDiagnostics.start();
+
+        if (Feature.OFF_HEAP_MONITOR.isEnabled())
+            OffHeapMonitor.start();
+
+        if (Feature.CLASS_GROWTH_MONITOR.isEnabled())
+            ClassGrowthMonitor.start();
+
+        if (Feature.CONTROL_CHANNEL.isEnabled())
+            ControlChannel.start();
+    }
 }
@@ -55,9 +55,7 @@
 package org.prismlauncher.launcher.impl;
 
 import org.prismlauncher.utils.Parameters;
-import org.prismlauncher.utils.ReflectionUtils;
 
-import java.lang.invoke.MethodHandle;
 import java.util.Collections;
 import java.util.List;
 
@@ -101,7 +99,6 @@ public final class StandardLauncher extends AbstractLauncher {
         }
 
         // find and invoke the main method
-        MethodHandle method = ReflectionUtils.findMainMethod(mainClassName);
-        method.invokeExact(gameArgs.toArray(new String[0]));
+        invokeMain(mainClassName);
     }
 }
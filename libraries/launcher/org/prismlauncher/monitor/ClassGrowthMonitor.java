@@ -0,0 +1,351 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.Agent;
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.EventChannel;
+import org.prismlauncher.utils.logging.Log;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks for classes which keep being loaded after startup, such as from
+ * classes being generated over and over or class loaders being leaked, enabled
+ * with <code>classGrowthInterval [seconds]</code>. The loaded class count and
+ * the metaspace (or permanent generation) pools are sampled at that interval.
+ * Once <code>classGrowthSettle [seconds]</code> (300 by default) have passed
+ * since launch, the count or the metaspace going up for
+ * {@link #GROWTH_SAMPLES} samples in a row, by at least
+ * {@link #MIN_GROWTH_CLASSES} classes or {@link #MIN_GROWTH_BYTES} bytes over
+ * those samples, is warned about. If NewLaunch is also loaded as an {@link Agent}, the
+ * warning includes which class loaders and packages the new classes came from.
+ */
+public final class ClassGrowthMonitor implements Runnable {
+    private static final int GROWTH_SAMPLES = 5, MAX_OWNERS = 10, PACKAGE_DEPTH = 3;
+    // less than this is a few classes loaded late, not a leak
+    private static final long MIN_GROWTH_CLASSES = 100, MIN_GROWTH_BYTES = 4 * 1024 * 1024;
+    private static final double MB = 1024 * 1024;
+
+    private static long interval, settle = TimeUnit.MINUTES.toMillis(5);
+
+    private final ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+    private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+    private final long started = System.currentTimeMillis();
+    private long baselineClasses = -1, baselineMetaspace;
+    // the samples since settling, the last GROWTH_SAMPLES + 1 of them
+    private final long[] recentClasses = new long[GROWTH_SAMPLES + 1], recentMetaspace = new long[GROWTH_SAMPLES + 1];
+    private int samples, growing;
+    private boolean warned;
+    // what had been loaded when startup settled, if loaded as an agent
+    private Snapshot baselineOwners;
+
+    private ClassGrowthMonitor() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            String name = pool.getName();
+
+            if (pool.getType() == MemoryType.NON_HEAP
+                    && (name.contains("Metaspace") || name.contains("Class Space") || name.contains("Perm Gen")))
+                pools.add(pool);
+        }
+    }
+
+    public static void configure(Parameters params) {
+        String value = params.getString("classGrowthInterval", null);
+
+        if (value == null)
+            return;
+
+        interval = parseSeconds(value);
+
+        if (interval == 0)
+            throw new ParseException(value, "[seconds]");
+
+        value = params.getString("classGrowthSettle", null);
+
+        if (value != null)
+            settle = parseSeconds(value);
+    }
+
+    private static long parseSeconds(String value) {
+        long result;
+
+        try {
+            result = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[seconds]");
+        }
+
+        if (result < 0)
+            throw new ParseException(value, "[seconds]");
+
+        return result;
+    }
+
+    /**
+     * Starts sampling, if enabled.
+     */
+    public static void start() {
+        if (interval <= 0)
+            return;
+
+        Thread thread = new Thread(new ClassGrowthMonitor(), "NewLaunch Class Growth Monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Thread.sleep(interval);
+                sample();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sample() {
+        long loaded = classes.getLoadedClassCount();
+        long unloaded = classes.getUnloadedClassCount();
+        long metaspace = 0;
+
+        for (MemoryPoolMXBean pool : pools)
+            metaspace += pool.getUsage().getUsed();
+
+        if (EventChannel.isOpen()) {
+            EventChannel.metric("classes", "loaded", loaded);
+            EventChannel.metric("classes", "unloaded", unloaded);
+            EventChannel.metric("classes", "metaspace", metaspace);
+        } else
+            Log.launcher("Classes: loaded=" + loaded + " unloaded=" + unloaded + " metaspace="
+                    + String.format(Locale.ROOT, "%.1fMB", metaspace / MB));
+
+        if (System.currentTimeMillis() - started < settle)
+            return;
+
+        if (baselineClasses < 0) {
+            baselineClasses = loaded;
+            baselineMetaspace = metaspace;
+            baselineOwners = owners();
+        }
+
+        int index = samples++ % recentClasses.length;
+        int previous = (index + recentClasses.length - 1) % recentClasses.length;
+
+        recentClasses[index] = loaded;
+        recentMetaspace[index] = metaspace;
+
+        if (samples == 1)
+            return;
+
+        if (loaded > recentClasses[previous] || metaspace > recentMetaspace[previous])
+            growing++;
+        else {
+            if (warned)
+                Log.launcher("Loaded classes have stopped growing, at " + loaded);
+
+            growing = 0;
+            warned = false;
+        }
+
+        if (growing < GROWTH_SAMPLES || warned)
+            return;
+
+        // the oldest sample kept, GROWTH_SAMPLES before this one
+        int oldest = samples % recentClasses.length;
+
+        if (loaded - recentClasses[oldest] >= MIN_GROWTH_CLASSES
+                || metaspace - recentMetaspace[oldest] >= MIN_GROWTH_BYTES) {
+            warned = true;
+            warn(loaded, metaspace);
+        }
+    }
+
+    private void warn(long loaded, long metaspace) {
+        StringBuilder message = new StringBuilder("Classes are still being loaded after startup: ")
+                .append(loaded - baselineClasses).append(" more since it settled, and metaspace has grown by ")
+                .append(String.format(Locale.ROOT, "%.1f MB", (metaspace - baselineMetaspace) / MB));
+
+        if (baselineOwners == null) {
+            message.append(". Load NewLaunch with -javaagent to see which class loaders own them");
+            Log.warning(message.toString());
+            return;
+        }
+
+        message.append(". Most new classes by class loader and package:");
+
+        for (String owner : newOwners())
+            message.append("\n  ").append(owner);
+
+        Log.warning(message.toString());
+    }
+
+    private static Snapshot owners() {
+        Instrumentation instrumentation = Agent.getInstrumentation();
+
+        if (instrumentation == null)
+            return null;
+
+        Snapshot snapshot = new Snapshot();
+        Map<ClassLoader, Boolean> seen = new IdentityHashMap<>();
+
+        for (Class<?> clazz : instrumentation.getAllLoadedClasses()) {
+            if (clazz.isArray())
+                continue;
+
+            ClassLoader loader = clazz.getClassLoader();
+            String type = describe(loader);
+
+            if (seen.put(loader, Boolean.TRUE) == null)
+                increment(snapshot.loaders, type);
+
+            increment(snapshot.classes, new Owner(type, packageOf(clazz.getName())));
+        }
+
+        return snapshot;
+    }
+
+    private static <K> void increment(Map<K, Integer> counts, K key) {
+        Integer count = counts.get(key);
+        counts.put(key, count == null ? 1 : count + 1);
+    }
+
+    private static int get(Map<?, Integer> counts, Object key) {
+        Integer count = counts.get(key);
+        return count == null ? 0 : count;
+    }
+
+    private List<String> newOwners() {
+        final Snapshot current = owners();
+        List<Owner> grown = new ArrayList<>();
+
+        for (Owner owner : current.classes.keySet()) {
+            if (get(current.classes, owner) > get(baselineOwners.classes, owner))
+                grown.add(owner);
+        }
+
+        Collections.sort(grown, new Comparator<Owner>() {
+            @Override
+            public int compare(Owner a, Owner b) {
+                return Integer.compare(growth(current, b), growth(current, a));
+            }
+        });
+
+        List<String> result = new ArrayList<>();
+
+        for (Owner owner : grown.subList(0, Math.min(MAX_OWNERS, grown.size()))) {
+            int loaders = get(current.loaders, owner.loader);
+            int newLoaders = loaders - get(baselineOwners.loaders, owner.loader);
+
+            result.add(String.format(Locale.ROOT, "%+7d  %s in %s (%d loaders, %+d)", growth(current, owner),
+                    owner.packageName, owner.loader, loaders, newLoaders));
+        }
+
+        return result;
+    }
+
+    private int growth(Snapshot current, Owner owner) {
+        return get(current.classes, owner) - get(baselineOwners.classes, owner);
+    }
+
+    // the first few parts, which are usually enough to tell which mod it is
+    private static String packageOf(String className) {
+        int end = -1;
+
+        for (int i = 0; i < PACKAGE_DEPTH; i++) {
+            int dot = className.indexOf('.', end + 1);
+
+            if (dot == -1)
+                break;
+
+            end = dot;
+        }
+
+        return end == -1 ? "(default package)" : className.substring(0, end);
+    }
+
+    private static String describe(ClassLoader loader) {
+        if (loader == null)
+            return "the bootstrap class loader";
+
+        return loader.getClass().getName();
+    }
+
+    // class and loader counts, keyed by loader type so that no loaders are kept
+    private static final class Snapshot {
+        private final Map<Owner, Integer> classes = new HashMap<>();
+        private final Map<String, Integer> loaders = new HashMap<>();
+    }
+
+    private static final class Owner {
+        private final String loader, packageName;
+
+        Owner(String loader, String packageName) {
+            this.loader = loader;
+            this.packageName = packageName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Owner))
+                return false;
+
+            Owner other = (Owner) obj;
+            return loader.equals(other.loader) && packageName.equals(other.packageName);
+        }
+
+        @Override
+        public int hashCode() {
+            return loader.hashCode() * 31 + packageName.hashCode();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Runs <code>jcmd</code> commands inside the JVM through the HotSpot
+ * <code>DiagnosticCommand</code> MBean, so nothing outside the game process is
+ * needed. Operation names are the command names in camel case, such as
+ * <code>gcClassHistogram</code> for <code>GC.class_histogram</code>.
+ */
+public final class DiagnosticCommand {
+    private static final String[] SIGNATURE = { String[].class.getName() };
+    private static final ObjectName NAME;
+
+    static {
+        ObjectName name;
+
+        try {
+            name = new ObjectName("com.sun.management:type=DiagnosticCommand");
+
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+                name = null;
+        } catch (Exception e) {
+            name = null;
+        }
+
+        NAME = name;
+    }
+
+    /**
+     * @return Whether this JVM has the MBean
+     */
+    public static boolean isAvailable() {
+        return NAME != null;
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param operation The operation, such as <code>gcClassHistogram</code>
+     * @param arguments The arguments, as they would be given to jcmd
+     * @return The output of the command
+     * @throws UnsupportedOperationException If the MBean is not available
+     * @throws Exception                     If the command fails
+     */
+    public static String invoke(String operation, String... arguments) throws Exception {
+        if (NAME == null)
+            throw new UnsupportedOperationException("Diagnostic commands are not available in this JVM");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Object result = server.invoke(NAME, operation, new Object[] { arguments }, SIGNATURE);
+
+        return result == null ? "" : result.toString();
+    }
+
+    /**
+     * Gets the classes using the most heap.
+     *
+     * @param size How many classes to include
+     * @return The top of the <code>GC.class_histogram</code> output, with its
+     *         header and total
+     * @throws UnsupportedOperationException If the MBean is not available
+     * @throws Exception                     If the command fails
+     */
+    public static String classHistogram(int size) throws Exception {
+        String histogram = invoke("gcClassHistogram");
+        StringBuilder out = new StringBuilder();
+        int lines = 0;
+
+        // the header is two lines, and the total is at the end
+        for (String entry : histogram.split("\n")) {
+            if (lines++ < size + 2 || entry.startsWith("Total"))
+                out.append(entry).append('\n');
+        }
+
+        return out.toString();
+    }
+}
@@ -0,0 +1,163 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.DataDirectory;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a Java Flight Recorder recording of the whole session, enabled with
+ * <code>jfrSettings [name|path]</code> (such as <code>default</code> or
+ * <code>profile</code>). <code>jfrMaxAge [time]</code> and
+ * <code>jfrMaxSize [size]</code> limit how much is kept, in the units jcmd
+ * takes (<code>30m</code>, <code>250M</code>). The recording is written to
+ * <code>jfrFile [path]</code>, by default <code>recording.jfr</code> in the
+ * NewLaunch data directory, when the game exits. It is also written next to it
+ * with <code>-crash</code> or <code>-stall</code> added to the name if the game
+ * crashes or the {@link Watchdog} finds a stall.
+ * <p>
+ * This goes through {@link DiagnosticCommand}, so needs a JVM which has flight
+ * recorder commands, and on Oracle Java 8 also
+ * <code>-XX:+UnlockCommercialFeatures</code>.
+ */
+public final class FlightRecording {
+    private static final String NAME = "NewLaunch";
+
+    private static String settings, maxAge, maxSize;
+    private static File file;
+    private static boolean started;
+
+    public static void configure(Parameters params) {
+        settings = params.getString("jfrSettings", null);
+
+        if (settings == null)
+            return;
+
+        maxAge = params.getString("jfrMaxAge", null);
+
+        if (maxAge != null && !maxAge.matches("\\d+(ns|us|ms|s|m|h|d)?"))
+            throw new ParseException(maxAge, "[time]");
+
+        maxSize = params.getString("jfrMaxSize", null);
+
+        if (maxSize != null && !maxSize.matches("\\d+[kKmMgG]?"))
+            throw new ParseException(maxSize, "[size]");
+
+        String path = params.getString("jfrFile", null);
+
+        if (path != null)
+            file = new File(path);
+    }
+
+    /**
+     * Starts recording, if enabled. Does nothing if called again.
+     */
+    public static synchronized void start() {
+        if (settings == null || started)
+            return;
+
+        started = true;
+
+        if (file == null)
+            file = DataDirectory.resolve("recording.jfr");
+
+        List<String> args = new ArrayList<>();
+        args.add("name=" + NAME);
+        args.add("settings=" + quote(settings));
+
+        if (maxAge != null)
+            args.add("maxage=" + maxAge);
+
+        if (maxSize != null)
+            args.add("maxsize=" + maxSize);
+
+        args.add("disk=true");
+        args.add("dumponexit=true");
+        args.add("filename=" + quote(file.getAbsolutePath()));
+
+        try {
+            Log.debug(DiagnosticCommand.invoke("jfrStart", args.toArray(new String[0])).trim());
+        } catch (Exception e) {
+            settings = null;
+            Log.warning("Could not start flight recording: " + e);
+            return;
+        }
+
+        Watchdog.addListener(new Watchdog.Listener() {
+            @Override
+            public void stalled(String threadName) {
+                dump("stall");
+            }
+        });
+    }
+
+    /**
+     * Writes the recording so far because the game crashed, if recording.
+     */
+    public static void crashed() {
+        dump("crash");
+    }
+
+    private static synchronized void dump(String reason) {
+        if (settings == null || !started)
+            return;
+
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+
+        if (dot <= 0)
+            dot = name.length();
+
+        File target = new File(file.getParentFile(), name.substring(0, dot) + '-' + reason + name.substring(dot));
+
+        try {
+            DiagnosticCommand.invoke("jfrDump", "name=" + NAME, "filename=" + quote(target.getAbsolutePath()));
+            Log.launcher("Saved flight recording to " + target);
+        } catch (Exception e) {
+            Log.warning("Could not save flight recording: " + e);
+        }
+    }
+
+    private static String quote(String value) {
+        return value.indexOf(' ') == -1 ? value : '"' + value + '"';
+    }
+}
@@ -0,0 +1,273 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.EventChannel;
+import org.prismlauncher.utils.logging.Log;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanNotificationInfo;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+/**
+ * Tracks garbage collection pauses and the allocation rate from the
+ * collectors' notifications, enabled with
+ * <code>gcReportInterval [seconds]</code>. At each interval the median, 99th
+ * percentile and longest pause are reported along with how fast the heap was
+ * filled, to the event channel if it is open and otherwise as a log line. A
+ * pause longer than <code>gcPauseWarning [ms]</code> (200 by default) is
+ * warned about when it happens.
+ * <p>
+ * The notifications are only sent by HotSpot-derived VMs. Their type is looked
+ * up reflectively, and if it cannot be found this does nothing.
+ */
+public final class GcMonitor implements NotificationListener, Runnable {
+    private static final String NOTIFICATION_CLASS = "com.sun.management.GarbageCollectionNotificationInfo";
+    private static final double MB = 1024 * 1024;
+
+    private static long interval, warning = 200;
+
+    private final String type;
+    private final Set<String> heapPools = new HashSet<>();
+    // guarded by this
+    private final PauseHistogram pauses = new PauseHistogram();
+    // bytes allocated before the last collection, and the heap used after it
+    private long allocated, lastAfter = -1;
+    private long reportedAllocated = -1, lastReport;
+
+    private GcMonitor(String type) {
+        this.type = type;
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                heapPools.add(pool.getName());
+        }
+    }
+
+    public static void configure(Parameters params) {
+        String value = params.getString("gcReportInterval", null);
+
+        if (value == null)
+            return;
+
+        try {
+            interval = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[seconds]");
+        }
+
+        if (interval <= 0)
+            throw new ParseException(value, "[seconds]");
+
+        value = params.getString("gcPauseWarning", null);
+
+        if (value == null)
+            return;
+
+        try {
+            warning = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[ms]");
+        }
+
+        if (warning < 0)
+            throw new ParseException(value, "[ms]");
+    }
+
+    /**
+     * Starts listening for collections, if enabled and supported.
+     */
+    public static void start() {
+        if (interval == 0)
+            return;
+
+        String type;
+
+        try {
+            type = (String) Class.forName(NOTIFICATION_CLASS).getField("GARBAGE_COLLECTION_NOTIFICATION").get(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            Log.warning("GC notifications are not supported by this VM");
+            return;
+        }
+
+        GcMonitor monitor = new GcMonitor(type);
+        boolean registered = false;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(collector instanceof NotificationEmitter) || !emits((NotificationEmitter) collector, type))
+                continue;
+
+            ((NotificationEmitter) collector).addNotificationListener(monitor, null, null);
+            registered = true;
+        }
+
+        if (!registered) {
+            Log.warning("GC notifications are not supported by this VM");
+            return;
+        }
+
+        Thread thread = new Thread(monitor, "NewLaunch GC Monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static boolean emits(NotificationEmitter emitter, String type) {
+        for (MBeanNotificationInfo info : emitter.getNotificationInfo()) {
+            for (String name : info.getNotifTypes()) {
+                if (type.equals(name))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!type.equals(notification.getType()) || !(notification.getUserData() instanceof CompositeData))
+            return;
+
+        CompositeData data = (CompositeData) notification.getUserData();
+        String name = (String) data.get("gcName");
+        CompositeData info = (CompositeData) data.get("gcInfo");
+        long duration = (Long) info.get("duration");
+        long before = heapUsed((TabularData) info.get("memoryUsageBeforeGc"));
+        long after = heapUsed((TabularData) info.get("memoryUsageAfterGc"));
+        // concurrent collectors report whole cycles, most of which the game
+        // runs through
+        boolean pause = !name.contains("Concurrent") && !name.contains("Cycles");
+
+        synchronized (this) {
+            if (lastAfter >= 0)
+                allocated += Math.max(0, before - lastAfter);
+
+            lastAfter = after;
+
+            if (pause)
+                pauses.record(duration);
+        }
+
+        if (pause && duration > warning)
+            Log.warning("GC pause of " + duration + " ms (" + name + ", " + data.get("gcCause") + ")");
+    }
+
+    private long heapUsed(TabularData usages) {
+        long used = 0;
+
+        for (Object row : usages.values()) {
+            CompositeData entry = (CompositeData) row;
+
+            if (heapPools.contains(entry.get("key")))
+                used += (Long) ((CompositeData) entry.get("value")).get("used");
+        }
+
+        return used;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Thread.sleep(interval);
+                report();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report() {
+        long now = System.nanoTime();
+        long used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long count, p50, p99, max, total;
+
+        synchronized (this) {
+            count = pauses.getCount();
+            p50 = pauses.percentile(50);
+            p99 = pauses.percentile(99);
+            max = pauses.getMax();
+            pauses.reset();
+
+            // include what has been allocated since the last collection
+            total = allocated + Math.max(0, used - Math.max(0, lastAfter));
+        }
+
+        double rate = -1;
+
+        if (reportedAllocated >= 0)
+            rate = Math.max(0, total - reportedAllocated) / MB / ((now - lastReport) / 1e9);
+
+        reportedAllocated = total;
+        lastReport = now;
+
+        if (EventChannel.isOpen()) {
+            EventChannel.metric("gc", "pauses", count);
+            EventChannel.metric("gc", "pause.p50", p50);
+            EventChannel.metric("gc", "pause.p99", p99);
+            EventChannel.metric("gc", "pause.max", max);
+
+            if (rate >= 0)
+                EventChannel.metric("gc", "allocationRate", rate);
+
+            return;
+        }
+
+        StringBuilder line = new StringBuilder("GC: ").append(count).append(" pauses");
+
+        if (count > 0)
+            line.append(", p50 ").append(p50).append(" ms, p99 ").append(p99).append(" ms, max ").append(max)
+                    .append(" ms");
+
+        if (rate >= 0)
+            line.append(", ").append(String.format(Locale.ROOT, "%.1f", rate)).append(" MB/s allocated");
+
+        Log.launcher(line.toString());
+    }
+}
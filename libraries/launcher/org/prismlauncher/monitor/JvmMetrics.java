@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Reads a set of JVM metrics from the platform MXBeans. Process CPU time is
+ * read as an MBean attribute, as it is only on the
+ * <code>com.sun.management</code> interface.
+ */
+public final class JvmMetrics {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+    private static final CompilationMXBean COMPILATION = ManagementFactory.getCompilationMXBean();
+    private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+    static final ObjectName OS_NAME;
+
+    static {
+        ObjectName name;
+
+        try {
+            name = new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME);
+        } catch (Exception e) {
+            name = null;
+        }
+
+        OS_NAME = name;
+    }
+
+    /**
+     * Reads the current values. Sizes are in bytes and times in milliseconds,
+     * except <code>process.cpuTime</code> which is in nanoseconds.
+     *
+     * @return The values by name, in a stable order
+     */
+    public static Map<String, Double> sample() {
+        Map<String, Double> values = new LinkedHashMap<>();
+
+        MemoryUsage heap = MEMORY.getHeapMemoryUsage();
+        MemoryUsage nonHeap = MEMORY.getNonHeapMemoryUsage();
+
+        values.put("heap.used", (double) heap.getUsed());
+        values.put("heap.committed", (double) heap.getCommitted());
+        values.put("heap.max", (double) heap.getMax());
+        values.put("nonHeap.used", (double) nonHeap.getUsed());
+        values.put("nonHeap.committed", (double) nonHeap.getCommitted());
+
+        long gcCount = 0, gcTime = 0;
+
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTime += Math.max(0, collector.getCollectionTime());
+        }
+
+        values.put("gc.count", (double) gcCount);
+        values.put("gc.time", (double) gcTime);
+
+        values.put("threads.live", (double) THREADS.getThreadCount());
+        values.put("threads.daemon", (double) THREADS.getDaemonThreadCount());
+        values.put("threads.peak", (double) THREADS.getPeakThreadCount());
+
+        values.put("system.loadAverage", OS.getSystemLoadAverage());
+        values.put("system.processors", (double) OS.getAvailableProcessors());
+
+        Object cpuTime = attribute(OS_NAME, "ProcessCpuTime");
+
+        if (cpuTime instanceof Number && ((Number) cpuTime).longValue() >= 0)
+            values.put("process.cpuTime", ((Number) cpuTime).doubleValue());
+
+        if (COMPILATION != null && COMPILATION.isCompilationTimeMonitoringSupported())
+            values.put("jit.time", (double) COMPILATION.getTotalCompilationTime());
+
+        return values;
+    }
+
+    /**
+     * Reads an attribute of a platform MBean.
+     *
+     * @param name      The name of the MBean
+     * @param attribute The attribute
+     * @return The value, or <code>null</code> if it could not be read
+     */
+    static Object attribute(ObjectName name, String attribute) {
+        if (name == null)
+            return null;
+
+        try {
+            return SERVER.getAttribute(name, attribute);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.DataDirectory;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Captures what was filling the heap when the game runs out of memory,
+ * enabled with <code>oomDiagnostics true</code>. A class histogram is logged
+ * when a heap pool is still over <code>oomThreshold [percent]</code> (90 by
+ * default) of its maximum after a collection, or when an
+ * {@link OutOfMemoryError} goes uncaught, whichever happens first. With
+ * <code>oomHeapDump true</code> a heap dump is also written, compressed, to the
+ * NewLaunch data directory.
+ */
+public final class MemoryDiagnostics implements NotificationListener, Thread.UncaughtExceptionHandler {
+    private static final int HISTOGRAM_SIZE = 20;
+    private static final String HOTSPOT_DIAGNOSTIC = "com.sun.management:type=HotSpotDiagnostic";
+
+    private static boolean enabled, heapDump;
+    private static int threshold = 90;
+    private static final AtomicBoolean CAPTURED = new AtomicBoolean();
+
+    private final Thread.UncaughtExceptionHandler previous;
+
+    private MemoryDiagnostics(Thread.UncaughtExceptionHandler previous) {
+        this.previous = previous;
+    }
+
+    public static void configure(Parameters params) {
+        enabled = "true".equals(params.getString("oomDiagnostics", null));
+        heapDump = "true".equals(params.getString("oomHeapDump", null));
+
+        String value = params.getString("oomThreshold", null);
+
+        if (value == null)
+            return;
+
+        try {
+            threshold = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[percent]");
+        }
+
+        if (threshold <= 0 || threshold > 100)
+            throw new ParseException(value, "[percent]");
+    }
+
+    /**
+     * Starts watching memory usage and uncaught errors, if enabled.
+     */
+    public static void start() {
+        if (!enabled)
+            return;
+
+        MemoryDiagnostics listener = new MemoryDiagnostics(Thread.getDefaultUncaughtExceptionHandler());
+        Thread.setDefaultUncaughtExceptionHandler(listener);
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported() || max <= 0)
+                continue;
+
+            // the young generation being full after a collection is normal
+            if (pool.getName().contains("Eden") || pool.getName().contains("Survivor"))
+                continue;
+
+            pool.setCollectionUsageThreshold(max / 100 * threshold);
+        }
+
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+    }
+
+    /**
+     * Captures diagnostics if the game's main method ended with an
+     * {@link OutOfMemoryError}.
+     *
+     * @param e What it threw
+     */
+    public static void crashed(Throwable e) {
+        if (enabled && isOutOfMemory(e))
+            capture("Out of memory");
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType()))
+            return;
+
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        long percent = info.getUsage().getUsed() * 100 / info.getUsage().getMax();
+        final String reason = "Memory pool \"" + info.getPoolName() + "\" is " + percent + "% full after garbage collection";
+
+        // a heap dump can take a while, and would hold up other notifications
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                capture(reason);
+            }
+        }, "NewLaunch Memory Diagnostics");
+
+        // not a daemon, so that exiting does not leave half a dump behind
+        thread.setDaemon(false);
+        thread.start();
+    }
+
+    @Override
+    public void uncaughtException(Thread thread, Throwable e) {
+        if (isOutOfMemory(e))
+            capture("Out of memory in thread \"" + thread.getName() + '"');
+
+        if (previous != null)
+            previous.uncaughtException(thread, e);
+        else if (!(e instanceof ThreadDeath)) {
+            // what ThreadGroup would do, which cannot be called as it would
+            // come back here
+            System.err.print("Exception in thread \"" + thread.getName() + "\" ");
+            e.printStackTrace(System.err);
+        }
+    }
+
+    private static boolean isOutOfMemory(Throwable e) {
+        for (; e != null; e = e.getCause()) {
+            if (e instanceof OutOfMemoryError)
+                return true;
+        }
+
+        return false;
+    }
+
+    // only done once, as the first capture is the one closest to the cause
+    private static void capture(String reason) {
+        if (!CAPTURED.compareAndSet(false, true))
+            return;
+
+        try {
+            Log.warning(reason + ". Classes using the most heap:\n" + DiagnosticCommand.classHistogram(HISTOGRAM_SIZE));
+        } catch (Throwable e) {
+            Log.warning(reason + ". Could not get a class histogram: " + e);
+        }
+
+        if (!heapDump)
+            return;
+
+        String name = "heapdump-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss", Locale.ROOT).format(new Date()) + ".hprof";
+        File file = DataDirectory.resolve(name);
+        File compressed = new File(file.getParentFile(), name + ".gz");
+
+        Log.launcher("Writing heap dump to " + compressed);
+
+        try {
+            dumpHeap(file, compressed);
+            Log.launcher("Heap dump written");
+        } catch (Throwable e) {
+            Log.error("Could not write heap dump", e);
+        }
+    }
+
+    private static void dumpHeap(File file, File compressed) throws Exception {
+        File temp = new File(compressed.getParentFile(), compressed.getName() + ".tmp");
+
+        // newer JVMs can compress as they dump, where the command is exported
+        try {
+            DiagnosticCommand.invoke("gcHeapDump", "-gz=1", temp.getAbsolutePath());
+
+            if (temp.length() > 0) {
+                Files.move(temp.toPath(), compressed.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+        } catch (Exception e) {
+            // not available, so dump then compress
+        }
+
+        Files.deleteIfExists(temp.toPath());
+
+        // the uncompressed dump is about as large as the heap in use
+        long needed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted();
+        long free = file.getParentFile().getUsableSpace();
+
+        if (free < needed)
+            throw new IOException("Not enough free space for a heap dump: needs up to " + (needed >> 20) + " MiB, has "
+                    + (free >> 20) + " MiB");
+
+        ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName(HOTSPOT_DIAGNOSTIC), "dumpHeap",
+                new Object[] { file.getAbsolutePath(), true },
+                new String[] { String.class.getName(), boolean.class.getName() });
+
+        try {
+            try (InputStream in = new FileInputStream(file);
+                    OutputStream gzip = new GZIPOutputStream(new FileOutputStream(temp), 65536)) {
+                byte[] buffer = new byte[65536];
+                int read;
+
+                while ((read = in.read(buffer)) != -1)
+                    gzip.write(buffer, 0, read);
+            }
+
+            Files.move(temp.toPath(), compressed.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw e;
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+}
@@ -0,0 +1,355 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.Trace;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serves metrics in the OpenMetrics text format at
+ * <code>http://127.0.0.1:[port]/metrics</code>, enabled with
+ * <code>metricsPort [port]</code> (0 picks a free port, which is logged). The
+ * JDK's HTTP server is used where it is available, otherwise a minimal one
+ * built on {@link ServerSocket}. Either way, scrapes are handled entirely on
+ * NewLaunch's own daemon threads.
+ */
+public final class MetricsEndpoint {
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static int port = -1;
+    // launch phases do not change once the game has started, so they are only rendered once
+    private static String phases = "";
+
+    public static void configure(Parameters params) {
+        String value = params.getString("metricsPort", null);
+
+        if (value == null)
+            return;
+
+        try {
+            port = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[port]");
+        }
+
+        if (port < 0 || port > 65535)
+            throw new ParseException(value, "[port]");
+    }
+
+    /**
+     * Starts serving, if enabled. Must be called on the main thread, after the
+     * launch phases have finished.
+     */
+    public static void start() {
+        if (port == -1)
+            return;
+
+        phases = renderPhases(Thread.currentThread().getId());
+
+        final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        final int[] bound = new int[1];
+        final IOException[] error = new IOException[1];
+
+        // the JDK server's dispatcher thread takes on whether the thread starting it is a daemon
+        Thread starter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    bound[0] = hasHttpServer() ? HttpServerEndpoint.start(address) : SocketEndpoint.start(address);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            }
+        }, "NewLaunch Metrics Endpoint");
+        starter.setDaemon(true);
+        starter.start();
+
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (error[0] != null)
+            Log.warning("Could not start the metrics endpoint: " + error[0]);
+        else
+            Log.launcher("Serving metrics at http://127.0.0.1:" + bound[0] + "/metrics");
+    }
+
+    private static boolean hasHttpServer() {
+        try {
+            Class.forName("com.sun.net.httpserver.HttpServer");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Renders the current metrics.
+     *
+     * @return The response body
+     */
+    static byte[] render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage(), nonHeap = memory.getNonHeapMemoryUsage();
+
+        type(out, "jvm_memory_used_bytes", "gauge", "Used memory by area");
+        sample(out, "jvm_memory_used_bytes", "area", "heap", heap.getUsed());
+        sample(out, "jvm_memory_used_bytes", "area", "nonheap", nonHeap.getUsed());
+        type(out, "jvm_memory_committed_bytes", "gauge", "Committed memory by area");
+        sample(out, "jvm_memory_committed_bytes", "area", "heap", heap.getCommitted());
+        sample(out, "jvm_memory_committed_bytes", "area", "nonheap", nonHeap.getCommitted());
+        type(out, "jvm_memory_max_bytes", "gauge", "Maximum memory by area");
+        sample(out, "jvm_memory_max_bytes", "area", "heap", heap.getMax());
+        sample(out, "jvm_memory_max_bytes", "area", "nonheap", nonHeap.getMax());
+
+        type(out, "jvm_memory_pool_used_bytes", "gauge", "Used memory by pool");
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            sample(out, "jvm_memory_pool_used_bytes", "pool", pool.getName(), pool.getUsage().getUsed());
+
+        type(out, "jvm_memory_pool_committed_bytes", "gauge", "Committed memory by pool");
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            sample(out, "jvm_memory_pool_committed_bytes", "pool", pool.getName(), pool.getUsage().getCommitted());
+
+        type(out, "jvm_gc_collections", "counter", "Garbage collections by collector");
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            sample(out, "jvm_gc_collections_total", "gc", collector.getName(), Math.max(0, collector.getCollectionCount()));
+
+        type(out, "jvm_gc_collection_seconds", "counter", "Time spent in garbage collection by collector");
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            sample(out, "jvm_gc_collection_seconds_total", "gc", collector.getName(),
+                    Math.max(0, collector.getCollectionTime()) / 1000.0);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        type(out, "jvm_threads", "gauge", "Threads by state");
+        sample(out, "jvm_threads", "state", "live", threads.getThreadCount());
+        sample(out, "jvm_threads", "state", "daemon", threads.getDaemonThreadCount());
+        sample(out, "jvm_threads", "state", "peak", threads.getPeakThreadCount());
+
+        ClassLoadingMXBean classes = ManagementFactory.getClassLoadingMXBean();
+
+        type(out, "jvm_classes_loaded", "gauge", "Classes currently loaded");
+        sample(out, "jvm_classes_loaded", null, null, classes.getLoadedClassCount());
+        type(out, "jvm_classes_unloaded", "counter", "Classes unloaded");
+        sample(out, "jvm_classes_unloaded_total", null, null, classes.getUnloadedClassCount());
+
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+
+        type(out, "process_uptime_seconds", "gauge", "Time since the JVM started");
+        sample(out, "process_uptime_seconds", null, null, runtime.getUptime() / 1000.0);
+
+        Object cpuTime = JvmMetrics.attribute(JvmMetrics.OS_NAME, "ProcessCpuTime");
+
+        if (cpuTime instanceof Number && ((Number) cpuTime).longValue() >= 0) {
+            type(out, "process_cpu_seconds", "counter", "CPU time used by the process");
+            sample(out, "process_cpu_seconds_total", null, null, ((Number) cpuTime).longValue() / 1e9);
+        }
+
+        out.append(phases);
+        out.append("# EOF\n");
+
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String renderPhases(long thread) {
+        Map<String, Long> durations = new LinkedHashMap<>(), instants = new LinkedHashMap<>();
+
+        for (Trace.Event event : Trace.getEvents()) {
+            if (event.getThreadId() != thread)
+                continue;
+
+            if (event.isInstant())
+                instants.put(event.getName(), event.getStartMicros());
+            else {
+                Long previous = durations.get(event.getName());
+                durations.put(event.getName(), (previous != null ? previous : 0) + event.getDurationMicros());
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+
+        type(out, "newlaunch_phase_seconds", "gauge", "Time spent in each launch phase");
+
+        for (Map.Entry<String, Long> entry : durations.entrySet())
+            sample(out, "newlaunch_phase_seconds", "phase", entry.getKey(), entry.getValue() / 1e6);
+
+        type(out, "newlaunch_event_seconds", "gauge", "Time from JVM start to each launch event");
+
+        for (Map.Entry<String, Long> entry : instants.entrySet())
+            sample(out, "newlaunch_event_seconds", "event", entry.getKey(), entry.getValue() / 1e6);
+
+        return out.toString();
+    }
+
+    private static void type(StringBuilder out, String family, String type, String help) {
+        out.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+        out.append("# HELP ").append(family).append(' ').append(help).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String labelValue, double value) {
+        out.append(name);
+
+        if (label != null) {
+            out.append('{').append(label).append("=\"");
+
+            for (int i = 0; i < labelValue.length(); i++) {
+                char c = labelValue.charAt(i);
+
+                if (c == '\\' || c == '"')
+                    out.append('\\').append(c);
+                else if (c == '\n')
+                    out.append("\\n");
+                else
+                    out.append(c);
+            }
+
+            out.append("\"}");
+        }
+
+        out.append(' ');
+
+        if (value == Math.rint(value) && !Double.isInfinite(value))
+            out.append((long) value);
+        else
+            out.append(String.format(Locale.ROOT, "%.6f", value));
+
+        out.append('\n');
+    }
+
+    /**
+     * A minimal HTTP/1.0 server for runtimes without the JDK's. Connections are
+     * handled one at a time, which is plenty for a scraper.
+     */
+    private static final class SocketEndpoint implements Runnable {
+        private static final int TIMEOUT = 5000;
+
+        private final ServerSocket server;
+
+        private SocketEndpoint(ServerSocket server) {
+            this.server = server;
+        }
+
+        static int start(InetSocketAddress address) throws IOException {
+            ServerSocket server = new ServerSocket();
+            server.bind(address);
+
+            Thread thread = new Thread(new SocketEndpoint(server), "NewLaunch Metrics Server");
+            thread.setDaemon(true);
+            thread.start();
+
+            return server.getLocalPort();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    socket.setSoTimeout(TIMEOUT);
+                    handle(socket);
+                } catch (IOException e) {
+                    if (server.isClosed())
+                        return;
+                }
+            }
+        }
+
+        private static void handle(Socket socket) throws IOException {
+            InputStream in = socket.getInputStream();
+            StringBuilder request = new StringBuilder();
+            int c;
+
+            // read the request line, and skip the headers up to the blank line
+            while ((c = in.read()) != -1 && c != '\n')
+                request.append((char) c);
+
+            int blank = 0;
+
+            while (blank < 2 && (c = in.read()) != -1) {
+                if (c == '\n')
+                    blank++;
+                else if (c != '\r')
+                    blank = 0;
+            }
+
+            String[] parts = request.toString().trim().split(" ");
+            OutputStream out = socket.getOutputStream();
+
+            if (parts.length < 2 || !"GET".equals(parts[0]) || !"/metrics".equals(parts[1])) {
+                out.write("HTTP/1.0 404 Not Found\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+
+            byte[] body = render();
+
+            out.write(("HTTP/1.0 200 OK\r\nContent-Type: " + CONTENT_TYPE + "\r\nContent-Length: " + body.length
+                    + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.EventChannel;
+import org.prismlauncher.utils.logging.Log;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Samples {@link JvmMetrics} at an interval once the game has started, enabled
+ * with <code>metricsInterval [ms]</code>. Each sample goes to the event channel
+ * as metric records if it is open, and otherwise is logged as a single line.
+ * Process CPU usage is derived from the CPU time between samples, as a
+ * percentage of all processors.
+ */
+public final class MetricsSampler implements Runnable {
+    private static long interval;
+
+    private long lastCpuTime = -1, lastTime;
+
+    public static void configure(Parameters params) {
+        String value = params.getString("metricsInterval", null);
+
+        if (value == null)
+            return;
+
+        try {
+            interval = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[ms]");
+        }
+
+        if (interval <= 0)
+            throw new ParseException(value, "[ms]");
+    }
+
+    /**
+     * Starts sampling, if enabled.
+     */
+    public static void start() {
+        if (interval == 0)
+            return;
+
+        Thread thread = new Thread(new MetricsSampler(), "NewLaunch Metrics");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Thread.sleep(interval);
+                report(JvmMetrics.sample());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(Map<String, Double> values) {
+        long now = System.nanoTime();
+        Double cpuTime = values.get("process.cpuTime");
+
+        if (cpuTime != null) {
+            if (lastCpuTime >= 0) {
+                double usage = (cpuTime - lastCpuTime) / (double) (now - lastTime) / values.get("system.processors");
+                values.put("process.cpu", Math.max(0, usage * 100));
+            }
+
+            lastCpuTime = cpuTime.longValue();
+            lastTime = now;
+        }
+
+        if (EventChannel.isOpen()) {
+            for (Map.Entry<String, Double> entry : values.entrySet())
+                EventChannel.metric("jvm", entry.getKey(), entry.getValue());
+
+            return;
+        }
+
+        StringBuilder line = new StringBuilder("Metrics:");
+
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            double value = entry.getValue();
+
+            line.append(' ').append(entry.getKey()).append('=');
+
+            if (value == Math.rint(value))
+                line.append((long) value);
+            else
+                line.append(String.format(Locale.ROOT, "%.2f", value));
+        }
+
+        Log.launcher(line.toString());
+    }
+}
@@ -0,0 +1,352 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.EventChannel;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Samples memory which the heap metrics do not show, enabled with
+ * <code>offHeapInterval [seconds]</code>: direct and mapped buffers, the
+ * resident size of the process on Linux, and the native memory tracking summary
+ * if the JVM was started with <code>-XX:NativeMemoryTracking</code>. The
+ * committed heap is left out of the tracking total, and out of how fast the
+ * resident size changes, so that a heap which grows does not look like a leak. Each sample goes to the
+ * event channel if it is open, and otherwise is logged as a line with how fast
+ * each value has changed recently. A value which has grown steadily over the
+ * last {@link #WINDOW} samples is warned about, once the game has had
+ * {@link #SETTLE} milliseconds to load.
+ */
+public final class OffHeapMonitor implements Runnable {
+    private static final int WINDOW = 10;
+    private static final double MB = 1024 * 1024;
+    // growth smaller than this over the window is not worth a warning
+    private static final long MIN_GROWTH = 16 * 1024 * 1024;
+    // memory grows while the game loads, which is not a leak
+    private static final long SETTLE = TimeUnit.MINUTES.toMillis(2);
+    private static final File STATUS = new File("/proc/self/status");
+    private static final Pattern NMT_TOTAL = Pattern.compile("^Total: reserved=\\d+KB, committed=(\\d+)KB");
+    private static final Pattern NMT_CATEGORY = Pattern.compile("^-\\s*(.+?) \\(reserved=\\d+KB, committed=(\\d+)KB");
+
+    private static long interval;
+
+    private final List<BufferPoolMXBean> pools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private final long started = System.nanoTime();
+    private long heapCommitted;
+    private boolean nativeTracking = true, settled;
+
+    public static void configure(Parameters params) {
+        String value = params.getString("offHeapInterval", null);
+
+        if (value == null)
+            return;
+
+        try {
+            interval = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[seconds]");
+        }
+
+        if (interval <= 0)
+            throw new ParseException(value, "[seconds]");
+    }
+
+    /**
+     * Starts sampling, if enabled.
+     */
+    public static void start() {
+        if (interval == 0)
+            return;
+
+        Thread thread = new Thread(new OffHeapMonitor(), "NewLaunch Off-Heap Monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                report(sample());
+                Thread.sleep(interval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Long> sample() {
+        Map<String, Long> values = new LinkedHashMap<>();
+
+        for (BufferPoolMXBean pool : pools) {
+            String name = name(pool.getName());
+
+            values.put(name, pool.getMemoryUsed());
+            values.put(name + ".count", pool.getCount());
+        }
+
+        long rss = residentSize();
+
+        if (rss >= 0)
+            values.put("rss", rss);
+
+        heapCommitted = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted();
+
+        if (nativeTracking)
+            sampleNativeMemory(values);
+
+        return values;
+    }
+
+    // such as "mapped - 'non-volatile memory'" to mapped_non_volatile_memory
+    private static String name(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+
+    private static long residentSize() {
+        if (!STATUS.isFile())
+            return -1;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(STATUS), StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                // VmRSS:	  123456 kB
+                if (line.startsWith("VmRSS:"))
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim()) * 1024;
+            }
+        } catch (IOException | NumberFormatException e) {
+            Log.debug("Could not read " + STATUS + ": " + e);
+        }
+
+        return -1;
+    }
+
+    private void sampleNativeMemory(Map<String, Long> values) {
+        String summary;
+
+        try {
+            summary = DiagnosticCommand.invoke("vmNativeMemory", "summary", "scale=KB");
+        } catch (Exception e) {
+            nativeTracking = false;
+            Log.debug("Could not get native memory summary: " + e);
+            return;
+        }
+
+        // the JVM was not started with -XX:NativeMemoryTracking
+        if (summary.contains("not enabled")) {
+            nativeTracking = false;
+            return;
+        }
+
+        long total = -1, heap = 0;
+
+        for (String line : summary.split("\n")) {
+            line = line.trim();
+
+            Matcher matcher = NMT_TOTAL.matcher(line);
+
+            if (matcher.find()) {
+                total = Long.parseLong(matcher.group(1)) * 1024;
+                continue;
+            }
+
+            matcher = NMT_CATEGORY.matcher(line);
+
+            if (!matcher.find())
+                continue;
+
+            String name = name(matcher.group(1));
+            long committed = Long.parseLong(matcher.group(2)) * 1024;
+
+            if (name.equals("java_heap"))
+                heap = committed;
+            else
+                values.put("nmt." + name, committed);
+        }
+
+        if (total >= 0)
+            values.put("nmt", total - heap);
+    }
+
+    private void report(Map<String, Long> values) {
+        StringBuilder line = new StringBuilder("Off-heap:");
+
+        // start the windows afresh, without the growth from loading
+        if (!settled && System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(SETTLE)) {
+            settled = true;
+            series.clear();
+        }
+
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            String name = entry.getKey();
+            long value = entry.getValue();
+            Series history = series.get(name);
+
+            if (history == null) {
+                history = new Series();
+                series.put(name, history);
+            }
+
+            // tracked without the heap, which is not all resident, so only its
+            // changes are meaningful
+            history.add(name.equals("rss") ? value - heapCommitted : value);
+
+            if (name.endsWith(".count")) {
+                if (EventChannel.isOpen())
+                    EventChannel.metric("offheap", name, value);
+                else if (value != 0)
+                    line.append(' ').append(name).append('=').append(value);
+
+                continue;
+            }
+
+            // bytes per minute
+            double rate = history.slope() * TimeUnit.MINUTES.toMillis(1) / interval;
+
+            if (settled)
+                checkGrowth(name, history, value, rate);
+
+            if (EventChannel.isOpen()) {
+                EventChannel.metric("offheap", name, value);
+                continue;
+            }
+
+            // the categories are only worth showing when growing, and unused
+            // buffer pools not at all
+            if (name.startsWith("nmt.") && !history.warned || value == 0 && rate == 0)
+                continue;
+
+            line.append(' ').append(name).append('=').append(String.format(Locale.ROOT, "%.1fMB", value / MB));
+
+            if (history.count > 1)
+                line.append(String.format(Locale.ROOT, "(%+.1fMB/min)", rate / MB));
+        }
+
+        if (!EventChannel.isOpen())
+            Log.launcher(line.toString());
+    }
+
+    private static void checkGrowth(String name, Series history, long value, double rate) {
+        boolean growing = history.isGrowing();
+
+        if (growing && !history.warned)
+            Log.warning("Off-heap memory may be leaking: " + name + " has grown steadily to "
+                    + String.format(Locale.ROOT, "%.1f MB (%+.1f MB/min)", value / MB, rate / MB));
+        else if (!growing && history.warned)
+            Log.launcher(name + " has stopped growing, at " + String.format(Locale.ROOT, "%.1f MB", value / MB));
+
+        history.warned = growing;
+    }
+
+    // the last WINDOW samples of one value
+    private static final class Series {
+        private final long[] values = new long[WINDOW];
+        private int count, next;
+        private boolean warned;
+
+        void add(long value) {
+            values[next] = value;
+            next = (next + 1) % WINDOW;
+            count = Math.min(count + 1, WINDOW);
+        }
+
+        private long get(int index) {
+            return values[(next - count + index + WINDOW) % WINDOW];
+        }
+
+        // least squares, in bytes per sample
+        double slope() {
+            if (count < 2)
+                return 0;
+
+            double meanX = (count - 1) / 2.0, meanY = 0;
+
+            for (int i = 0; i < count; i++)
+                meanY += get(i);
+
+            meanY /= count;
+
+            double covariance = 0, variance = 0;
+
+            for (int i = 0; i < count; i++) {
+                covariance += (i - meanX) * (get(i) - meanY);
+                variance += (i - meanX) * (i - meanX);
+            }
+
+            return covariance / variance;
+        }
+
+        /*
+         * Growing means a full window which rose by a meaningful amount, with
+         * almost every sample higher than the one before, so that a value which
+         * settles or goes up and down is not reported.
+         */
+        boolean isGrowing() {
+            if (count < WINDOW || get(count - 1) - get(0) < MIN_GROWTH)
+                return false;
+
+            int rises = 0;
+
+            for (int i = 1; i < count; i++) {
+                if (get(i) > get(i - 1))
+                    rises++;
+            }
+
+            return rises >= (count - 1) * 8 / 10;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import java.util.Arrays;
+
+/**
+ * Counts values in logarithmic buckets, each power of two split into
+ * {@link #SUB_BUCKETS} linear steps, in the manner of HdrHistogram. This keeps
+ * percentiles within about 12% of the real value in a fixed, small array.
+ * Not thread-safe.
+ */
+final class PauseHistogram {
+    private static final int SUB_BITS = 3, SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+    private long count, max;
+
+    void record(long value) {
+        if (value < 0)
+            value = 0;
+
+        counts[index(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile From 0 to 100
+     * @return The upper bound of the bucket holding that percentile, or 0 if
+     *         nothing was recorded
+     */
+    long percentile(double percentile) {
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if (seen >= rank)
+                return Math.min(max, upperBound(i));
+        }
+
+        return max;
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        count = max = 0;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> magnitude) & (SUB_BUCKETS - 1);
+
+        return (magnitude + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        int magnitude = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+
+        return ((SUB_BUCKETS + sub + 1) << magnitude) - 1;
+    }
+}
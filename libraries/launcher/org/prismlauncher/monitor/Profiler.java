@@ -0,0 +1,262 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.DataDirectory;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the stacks of running threads and counts them in a
+ * {@link StackTrie}, writing them in the collapsed format which flame graph
+ * tools take. Enabled from the start with <code>profilerRate [hz]</code>, or
+ * with the <code>profile</code> control command. The output goes to
+ * <code>profilerFile [path]</code>, by default <code>profile.collapsed</code>
+ * in the NewLaunch data directory, and is rewritten every
+ * <code>profilerWriteInterval [seconds]</code> (30 by default) and when
+ * profiling stops. Only runnable threads are counted.
+ */
+public final class Profiler implements Runnable {
+    private static final int DEFAULT_RATE = 100;
+
+    private static int startRate;
+    private static File file;
+    private static long writeInterval = TimeUnit.SECONDS.toNanos(30);
+    private static Profiler running;
+    private static boolean hooked;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final StackTrie trie = new StackTrie();
+    private final long period;
+    private final Thread thread;
+    private volatile boolean stopped;
+
+    private Profiler(int rate) {
+        period = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        thread = new Thread(this, "NewLaunch Profiler");
+        thread.setDaemon(true);
+    }
+
+    public static void configure(Parameters params) {
+        String rate = params.getString("profilerRate", null);
+
+        if (rate != null)
+            startRate = parseRate(rate);
+
+        String path = params.getString("profilerFile", null);
+
+        if (path != null)
+            file = new File(path);
+
+        String interval = params.getString("profilerWriteInterval", null);
+
+        if (interval != null)
+            writeInterval = TimeUnit.SECONDS.toNanos(parseInterval(interval));
+    }
+
+    /**
+     * Starts profiling if the launch script asked for it.
+     */
+    public static void startConfigured() {
+        if (startRate > 0)
+            start(startRate);
+    }
+
+    /**
+     * Starts profiling, unless it is already running.
+     *
+     * @param rate Samples a second, or 0 for the default
+     * @return Whether it was started
+     */
+    public static synchronized boolean start(int rate) {
+        if (running != null)
+            return false;
+
+        running = new Profiler(rate > 0 ? rate : DEFAULT_RATE);
+        running.thread.start();
+
+        if (!hooked) {
+            hooked = true;
+
+            // keep what was collected since the last write when the game exits
+            Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        stop();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }, "NewLaunch Profiler Flush"));
+        }
+
+        return true;
+    }
+
+    /**
+     * Stops profiling and writes the results.
+     *
+     * @return The file written, or <code>null</code> if it was not running
+     * @throws IOException
+     */
+    public static File stop() throws IOException {
+        Profiler profiler;
+
+        synchronized (Profiler.class) {
+            profiler = running;
+            running = null;
+        }
+
+        if (profiler == null)
+            return null;
+
+        profiler.stopped = true;
+        profiler.thread.interrupt();
+
+        try {
+            profiler.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return profiler.write();
+    }
+
+    /**
+     * @param value The rate as text
+     * @return The rate
+     * @throws ParseException If it is not a number from 1 to 1000
+     */
+    public static int parseRate(String value) {
+        try {
+            int rate = Integer.parseInt(value);
+
+            if (rate > 0 && rate <= 1000)
+                return rate;
+        } catch (NumberFormatException ignored) {
+        }
+
+        throw new ParseException(value, "[1-1000 hz]");
+    }
+
+    private static long parseInterval(String value) {
+        try {
+            long seconds = Long.parseLong(value);
+
+            // anything less would rewrite the file after every sample
+            if (seconds > 0)
+                return seconds;
+        } catch (NumberFormatException ignored) {
+        }
+
+        throw new ParseException(value, "[seconds]");
+    }
+
+    @Override
+    public void run() {
+        long self = Thread.currentThread().getId();
+        long next = System.nanoTime();
+        long nextWrite = next + writeInterval;
+
+        while (!stopped) {
+            sample(self);
+
+            next += period;
+            long now = System.nanoTime();
+
+            if (now >= nextWrite) {
+                try {
+                    write();
+                } catch (IOException e) {
+                    Log.warning("Could not write profile: " + e);
+                }
+
+                nextWrite = now + writeInterval;
+            }
+
+            // if sampling falls behind, skip ahead rather than trying to catch up
+            if (next < now)
+                next = now;
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(next - now);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void sample(long self) {
+        ThreadInfo[] infos = threads.dumpAllThreads(false, false);
+
+        for (ThreadInfo info : infos) {
+            if (info.getThreadId() == self || info.getThreadState() != Thread.State.RUNNABLE)
+                continue;
+
+            StackTraceElement[] stack = info.getStackTrace();
+
+            if (stack.length > 0)
+                trie.add(info.getThreadName(), stack);
+        }
+    }
+
+    // only called by the profiler thread, or once it has ended
+    private File write() throws IOException {
+        File target = file != null ? file : DataDirectory.resolve("profile.collapsed");
+        File temp = new File(target.getPath() + ".tmp");
+
+        try (Writer out = new OutputStreamWriter(Files.newOutputStream(temp.toPath()), StandardCharsets.UTF_8)) {
+            trie.write(out);
+        }
+
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+}
@@ -0,0 +1,254 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Counts stacks in a trie, kept in primitive arrays so that adding a sample
+ * does not allocate once the frames it contains have been seen. Frames are
+ * interned by class and method name, ignoring line numbers, and children are
+ * found through an open-addressed table keyed by parent and frame.
+ */
+final class StackTrie {
+    // frames, by ID
+    private String[] frameClasses = new String[1024], frameMethods = new String[1024];
+    private int frameCount;
+    private int[] frameTable = new int[2048];
+
+    // nodes, by ID; node 0 is the root
+    private int[] nodeFrames = new int[4096], nodeParents = new int[4096];
+    private long[] nodeCounts = new long[4096];
+    private int nodeCount = 1;
+    private long[] childKeys = new long[8192];
+    private int[] childNodes = new int[8192];
+
+    private int[] path = new int[256];
+    private long samples;
+
+    /**
+     * Adds a sample.
+     *
+     * @param thread The name of the thread, used as the root frame
+     * @param stack  The stack, innermost frame first
+     */
+    void add(String thread, StackTraceElement[] stack) {
+        int node = child(0, frame(thread, null));
+
+        for (int i = stack.length - 1; i >= 0; i--)
+            node = child(node, frame(stack[i].getClassName(), stack[i].getMethodName()));
+
+        nodeCounts[node]++;
+        samples++;
+    }
+
+    long getSamples() {
+        return samples;
+    }
+
+    /**
+     * Writes every stack in the collapsed format used by flame graph tools: the
+     * frames from the outside in, separated by semicolons, then the count.
+     *
+     * @param out The writer
+     * @throws IOException
+     */
+    void write(Writer out) throws IOException {
+        StringBuilder line = new StringBuilder();
+
+        for (int node = 1; node < nodeCount; node++) {
+            if (nodeCounts[node] == 0)
+                continue;
+
+            int depth = 0;
+
+            for (int current = node; current != 0; current = nodeParents[current]) {
+                if (depth == path.length)
+                    path = Arrays.copyOf(path, depth * 2);
+
+                path[depth++] = nodeFrames[current];
+            }
+
+            line.setLength(0);
+
+            for (int i = depth - 1; i >= 0; i--) {
+                int frame = path[i];
+
+                if (frameMethods[frame] != null)
+                    line.append(frameClasses[frame]).append('.').append(frameMethods[frame]);
+                else
+                    appendThreadName(line, frameClasses[frame]);
+
+                if (i > 0)
+                    line.append(';');
+            }
+
+            line.append(' ').append(nodeCounts[node]).append('\n');
+            out.write(line.toString());
+        }
+    }
+
+    /*
+     * Class and method names cannot contain semicolons or line breaks, but thread
+     * names can, and would split the frame or the line.
+     */
+    private static void appendThreadName(StringBuilder line, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+
+            if (c == ';')
+                c = ':';
+            else if (c == '\n' || c == '\r')
+                c = ' ';
+
+            line.append(c);
+        }
+    }
+
+    private int frame(String className, String method) {
+        int hash = mix(className.hashCode() * 31 + (method == null ? 0 : method.hashCode()));
+        int mask = frameTable.length - 1;
+
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int entry = frameTable[slot];
+
+            if (entry == 0)
+                break;
+
+            int id = entry - 1;
+
+            if (frameClasses[id].equals(className)
+                    && (method == null ? frameMethods[id] == null : method.equals(frameMethods[id])))
+                return id;
+        }
+
+        if (frameCount == frameClasses.length) {
+            frameClasses = Arrays.copyOf(frameClasses, frameCount * 2);
+            frameMethods = Arrays.copyOf(frameMethods, frameCount * 2);
+        }
+
+        int id = frameCount++;
+        frameClasses[id] = className;
+        frameMethods[id] = method;
+
+        if (frameCount * 2 > frameTable.length)
+            rehashFrames();
+        else
+            insertFrame(id, hash);
+
+        return id;
+    }
+
+    private void insertFrame(int id, int hash) {
+        int mask = frameTable.length - 1;
+        int slot = hash & mask;
+
+        while (frameTable[slot] != 0)
+            slot = (slot + 1) & mask;
+
+        frameTable[slot] = id + 1;
+    }
+
+    private void rehashFrames() {
+        frameTable = new int[frameTable.length * 2];
+
+        for (int id = 0; id < frameCount; id++) {
+            String method = frameMethods[id];
+            insertFrame(id, mix(frameClasses[id].hashCode() * 31 + (method == null ? 0 : method.hashCode())));
+        }
+    }
+
+    private int child(int parent, int frame) {
+        long key = key(parent, frame);
+        int mask = childKeys.length - 1;
+
+        for (int slot = mix((int) (key ^ key >>> 32)) & mask;; slot = (slot + 1) & mask) {
+            if (childKeys[slot] == key)
+                return childNodes[slot];
+
+            if (childKeys[slot] == 0)
+                break;
+        }
+
+        if (nodeCount == nodeFrames.length) {
+            nodeFrames = Arrays.copyOf(nodeFrames, nodeCount * 2);
+            nodeParents = Arrays.copyOf(nodeParents, nodeCount * 2);
+            nodeCounts = Arrays.copyOf(nodeCounts, nodeCount * 2);
+        }
+
+        int node = nodeCount++;
+        nodeFrames[node] = frame;
+        nodeParents[node] = parent;
+
+        if (nodeCount * 2 > childKeys.length)
+            rehashChildren();
+        else
+            insertChild(key, node);
+
+        return node;
+    }
+
+    private void insertChild(long key, int node) {
+        int mask = childKeys.length - 1;
+        int slot = mix((int) (key ^ key >>> 32)) & mask;
+
+        while (childKeys[slot] != 0)
+            slot = (slot + 1) & mask;
+
+        childKeys[slot] = key;
+        childNodes[slot] = node;
+    }
+
+    private void rehashChildren() {
+        childKeys = new long[childKeys.length * 2];
+        childNodes = new int[childNodes.length * 2];
+
+        for (int node = 1; node < nodeCount; node++)
+            insertChild(key(nodeParents[node], nodeFrames[node]), node);
+    }
+
+    // never 0, which marks an empty slot
+    private static long key(int parent, int frame) {
+        return (long) parent << 32 | frame + 1;
+    }
+
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+}
@@ -0,0 +1,118 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Formats thread stacks in the style of <code>jstack</code>, without the frame
+ * limit of {@link ThreadInfo#toString()}.
+ */
+public final class ThreadDump {
+    /**
+     * @return A dump of every thread, with held locks
+     */
+    public static String all() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ThreadInfo[] infos = threads.dumpAllThreads(threads.isObjectMonitorUsageSupported(),
+                threads.isSynchronizerUsageSupported());
+        StringBuilder out = new StringBuilder();
+
+        for (ThreadInfo info : infos) {
+            if (info != null)
+                format(out, info, Integer.MAX_VALUE).append('\n');
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Appends one thread's stack.
+     *
+     * @param out       The builder to append to
+     * @param info      The thread
+     * @param maxFrames The most frames to include
+     * @return The builder
+     */
+    public static StringBuilder format(StringBuilder out, ThreadInfo info, int maxFrames) {
+        out.append('"').append(info.getThreadName()).append("\" #").append(info.getThreadId()).append(' ')
+                .append(info.getThreadState());
+
+        if (info.getLockName() != null)
+            out.append(" on ").append(info.getLockName());
+
+        if (info.getLockOwnerName() != null)
+            out.append(" owned by \"").append(info.getLockOwnerName()).append("\" #").append(info.getLockOwnerId());
+
+        if (info.isSuspended())
+            out.append(" (suspended)");
+
+        if (info.isInNative())
+            out.append(" (in native)");
+
+        out.append('\n');
+
+        StackTraceElement[] stack = info.getStackTrace();
+        MonitorInfo[] monitors = info.getLockedMonitors();
+
+        for (int i = 0; i < stack.length && i < maxFrames; i++) {
+            out.append("\tat ").append(stack[i]).append('\n');
+
+            for (MonitorInfo monitor : monitors) {
+                if (monitor.getLockedStackDepth() == i)
+                    out.append("\t- locked ").append(monitor).append('\n');
+            }
+        }
+
+        if (stack.length > maxFrames)
+            out.append("\t...\n");
+
+        LockInfo[] synchronizers = info.getLockedSynchronizers();
+
+        if (synchronizers.length > 0) {
+            out.append("\tLocked synchronizers:\n");
+
+            for (LockInfo synchronizer : synchronizers)
+                out.append("\t- ").append(synchronizer).append('\n');
+        }
+
+        return out;
+    }
+}
@@ -0,0 +1,277 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.monitor;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.logging.Log;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches for threads which stop making progress, enabled with
+ * <code>watchdogTimeout [seconds]</code>. The thread which runs the game's main
+ * method is watched, along with any threads named by
+ * <code>watchdogThread [name]</code> (which may be given more than once). A
+ * thread whose stack stays the same for the timeout is reported as stalled,
+ * with a dump of every thread. Deadlocks are checked for on every sample and
+ * reported straight away. Threads which are sleeping or waiting with a timeout
+ * are taken to be idle, as that is how polling loops wait, but waiting with no
+ * timeout counts towards a stall just as running or being blocked does.
+ */
+public final class Watchdog implements Runnable {
+    private static final int MAX_DEPTH = 128;
+
+    private static long timeout;
+    private static List<String> names = Collections.emptyList();
+    private static final List<Listener> LISTENERS = new ArrayList<>();
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final long interval;
+    // thread ID to state, in the order they were found
+    private final Map<Long, Watched> watched = new LinkedHashMap<>();
+    private final Set<String> missing;
+    private Set<Long> lastDeadlock = Collections.emptySet();
+
+    private Watchdog(long mainThread) {
+        interval = Math.max(100, Math.min(TimeUnit.SECONDS.toMillis(1), timeout / 4));
+        missing = new HashSet<>(names);
+
+        watched.put(mainThread, new Watched());
+    }
+
+    public static void configure(Parameters params) {
+        String value = params.getString("watchdogTimeout", null);
+
+        if (value == null)
+            return;
+
+        try {
+            timeout = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new ParseException(value, "[seconds]");
+        }
+
+        if (timeout <= 0)
+            throw new ParseException(value, "[seconds]");
+
+        names = params.getList("watchdogThread", Collections.<String>emptyList());
+    }
+
+    /**
+     * Starts watching the current thread and any named threads, if enabled.
+     */
+    public static void start() {
+        if (timeout == 0)
+            return;
+
+        Thread thread = new Thread(new Watchdog(Thread.currentThread().getId()), "NewLaunch Watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Adds something to be done when a thread stalls, such as saving other
+     * diagnostics.
+     *
+     * @param listener The listener
+     */
+    public static void addListener(Listener listener) {
+        synchronized (LISTENERS) {
+            LISTENERS.add(listener);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Thread.sleep(interval);
+
+                long now = System.currentTimeMillis();
+
+                findNamed();
+                checkStalls(now);
+                checkDeadlocks();
+
+                if (watched.isEmpty() && missing.isEmpty())
+                    return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void findNamed() {
+        if (missing.isEmpty())
+            return;
+
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+            if (info != null && missing.remove(info.getThreadName()) && !watched.containsKey(info.getThreadId()))
+                watched.put(info.getThreadId(), new Watched());
+        }
+    }
+
+    private void checkStalls(long now) {
+        long[] ids = new long[watched.size()];
+        int index = 0;
+
+        for (long id : watched.keySet())
+            ids[index++] = id;
+
+        ThreadInfo[] infos = threads.getThreadInfo(ids, MAX_DEPTH);
+
+        for (int i = 0; i < ids.length; i++) {
+            ThreadInfo info = infos[i];
+
+            // it has ended
+            if (info == null) {
+                watched.remove(ids[i]);
+                continue;
+            }
+
+            Watched state = watched.get(ids[i]);
+            Thread.State threadState = info.getThreadState();
+
+            // sleeping or polling, so idle rather than stuck, whereas waiting
+            // with no timeout may well never end
+            if (threadState == Thread.State.TIMED_WAITING) {
+                if (state.reported)
+                    Log.launcher("Thread \"" + info.getThreadName() + "\" is waiting after being stuck for "
+                            + (now - state.since) / 1000 + " seconds");
+
+                state.since = 0;
+                state.reported = false;
+                continue;
+            }
+
+            StackTraceElement[] stack = info.getStackTrace();
+            int hash = Arrays.hashCode(stack);
+
+            if (state.since == 0 || hash != state.hash || !Arrays.equals(stack, state.stack)) {
+                if (state.reported)
+                    Log.launcher("Thread \"" + info.getThreadName() + "\" is moving again after "
+                            + (now - state.since) / 1000 + " seconds");
+
+                state.hash = hash;
+                state.stack = stack;
+                state.since = now;
+                state.reported = false;
+                continue;
+            }
+
+            if (!state.reported && now - state.since >= timeout) {
+                state.reported = true;
+                stalled(info, now - state.since);
+            }
+        }
+    }
+
+    private void stalled(ThreadInfo info, long duration) {
+        Log.warning("Thread \"" + info.getThreadName() + "\" has not moved for " + duration / 1000
+                + " seconds. All threads:\n" + ThreadDump.all());
+
+        Listener[] listeners;
+
+        synchronized (LISTENERS) {
+            listeners = LISTENERS.toArray(new Listener[0]);
+        }
+
+        for (Listener listener : listeners) {
+            try {
+                listener.stalled(info.getThreadName());
+            } catch (Throwable e) {
+                Log.error("Stall listener failed", e);
+            }
+        }
+    }
+
+    private void checkDeadlocks() {
+        long[] ids = threads.isSynchronizerUsageSupported() ? threads.findDeadlockedThreads()
+                : threads.findMonitorDeadlockedThreads();
+
+        if (ids == null) {
+            lastDeadlock = Collections.emptySet();
+            return;
+        }
+
+        Set<Long> deadlock = new HashSet<>();
+
+        for (long id : ids)
+            deadlock.add(id);
+
+        if (deadlock.equals(lastDeadlock))
+            return;
+
+        lastDeadlock = deadlock;
+
+        ThreadInfo[] infos = threads.getThreadInfo(ids, threads.isObjectMonitorUsageSupported(),
+                threads.isSynchronizerUsageSupported());
+        StringBuilder out = new StringBuilder("Deadlock found between " + ids.length + " threads:\n");
+
+        for (ThreadInfo info : infos) {
+            if (info != null)
+                ThreadDump.format(out, info, Integer.MAX_VALUE).append('\n');
+        }
+
+        Log.error(out.toString().trim());
+    }
+
+    /**
+     * Notified on the watchdog thread when a thread stalls.
+     */
+    public interface Listener {
+        void stalled(String threadName);
+    }
+
+    private static final class Watched {
+        private int hash;
+        private StackTraceElement[] stack;
+        private long since;
+        private boolean reported;
+    }
+}
@@ -0,0 +1,228 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.preload;
+
+import org.prismlauncher.Agent;
+import org.prismlauncher.utils.DataDirectory;
+import org.prismlauncher.utils.Trace;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads classes the game used during the previous run while the launch script
+ * is still being read, as the classpath is already known at that point.
+ * Enabled with <code>-Dorg.prismlauncher.preload=true</code>.
+ * <p>
+ * The list is written to the data directory when the JVM exits, which requires
+ * NewLaunch to be loaded as an agent. Only classes defined by the system class
+ * loader are recorded, as those are the only ones which can be preloaded
+ * without changing which loader ends up defining them. So that the list follows
+ * what the game uses rather than only growing, it is made up of the classes
+ * defined other than by preloading and the preloaded classes which went on to
+ * be initialised, and is not written at all if the game never started. From
+ * Java 22, whether a class was initialised cannot be told, so a run which
+ * preloaded anything keeps the list as it was; deleting it records a new one.
+ */
+public final class ClassPreloader {
+    public static final String PROPERTY = "org.prismlauncher.preload";
+    private static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+    private static final String FILE_NAME = "preload-classes.txt";
+    private static final int MAX_WORKERS = 4;
+
+    private static final AtomicInteger next = new AtomicInteger(), loaded = new AtomicInteger();
+    private static volatile boolean stopped;
+    private static String[] classes = new String[0];
+    // what the workers loaded, and the names of classes defined by anything else
+    private static final List<Class<?>> preloaded = Collections.synchronizedList(new ArrayList<Class<?>>());
+    private static final Set<String> defined = Collections.synchronizedSet(new HashSet<String>());
+    private static final ThreadLocal<Boolean> preloading = new ThreadLocal<>();
+
+    /**
+     * Starts preloading in the background, and registers a hook to record the
+     * loaded classes for next time.
+     */
+    public static void start() {
+        if (!ENABLED)
+            return;
+
+        Instrumentation instrumentation = Agent.getInstrumentation();
+
+        if (instrumentation != null) {
+            DefinitionRecorder recorder = new DefinitionRecorder();
+
+            instrumentation.addTransformer(recorder);
+            Runtime.getRuntime().addShutdownHook(new Thread(new Recorder(recorder), "NewLaunch Class Recorder"));
+        } else
+            Log.debug("Not loaded as an agent, so the preload list will not be updated");
+
+        File file = new File(DataDirectory.get(), FILE_NAME);
+        if (!file.isFile())
+            return;
+
+        try {
+            classes = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).toArray(new String[0]);
+        } catch (IOException e) {
+            Log.warning("Could not read the preload list: " + e);
+            return;
+        }
+
+        int workers = Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
+
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(new Worker(), "NewLaunch Preloader #" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops preloading. Called right before the game's main class is invoked, so
+     * the workers do not compete with it.
+     */
+    public static void stop() {
+        if (!ENABLED || stopped)
+            return;
+
+        stopped = true;
+
+        Log.debug("Preloaded " + loaded.get() + " of " + classes.length + " classes before launch");
+    }
+
+    private static final class Worker implements Runnable {
+        @Override
+        public void run() {
+            ClassLoader loader = ClassLoader.getSystemClassLoader();
+            int index;
+
+            preloading.set(Boolean.TRUE);
+
+            Trace.Span span = Trace.begin("Preload classes");
+
+            try {
+                while (!stopped && (index = next.getAndIncrement()) < classes.length) {
+                    try {
+                        preloaded.add(Class.forName(classes[index], false, loader));
+                        loaded.incrementAndGet();
+                    } catch (ClassNotFoundException | LinkageError ignored) {
+                        // the classpath changed since the list was recorded
+                    }
+                }
+            } finally {
+                span.close();
+            }
+        }
+    }
+
+    // notes the names of classes the system class loader defines, other than by preloading
+    private static final class DefinitionRecorder implements ClassFileTransformer {
+        private final ClassLoader loader = ClassLoader.getSystemClassLoader();
+
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> redefined, ProtectionDomain domain,
+                byte[] buffer) {
+            if (loader == this.loader && redefined == null && className != null && preloading.get() == null)
+                defined.add(className.replace('/', '.'));
+
+            return null;
+        }
+    }
+
+    private static final class Recorder implements Runnable {
+        private final DefinitionRecorder definitions;
+
+        private Recorder(DefinitionRecorder definitions) {
+            this.definitions = definitions;
+        }
+
+        @Override
+        public void run() {
+            // so that what is loaded from here on is not counted
+            Agent.getInstrumentation().removeTransformer(definitions);
+
+            // a standby JVM which was discarded, or a launch which failed early
+            if (!stopped)
+                return;
+
+            Set<String> names = new LinkedHashSet<>();
+
+            synchronized (preloaded) {
+                // without knowing which preloaded classes were used, they would all be kept or all be lost
+                if (!preloaded.isEmpty() && !Initialization.isSupported()) {
+                    Log.debug("Cannot tell which preloaded classes were used, so the preload list was not updated");
+                    return;
+                }
+
+                for (Class<?> clazz : preloaded) {
+                    if (Initialization.isInitialized(clazz))
+                        names.add(clazz.getName());
+                }
+            }
+
+            synchronized (defined) {
+                for (String name : defined) {
+                    // generated classes cannot be looked up by name
+                    if (!name.contains("$$Lambda"))
+                        names.add(name);
+                }
+            }
+
+            try {
+                File file = DataDirectory.resolve(FILE_NAME);
+                File temp = new File(file.getPath() + ".tmp");
+
+                Files.write(temp.toPath(), names, StandardCharsets.UTF_8);
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Log.warning("Could not write the preload list: " + e);
+            }
+        }
+    }
+}
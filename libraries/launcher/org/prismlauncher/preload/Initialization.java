@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.preload;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Tells whether a class has been initialised, through
+ * <code>sun.misc.Unsafe.shouldBeInitialized</code>. That was removed in Java 22,
+ * so callers check {@link #isSupported} first.
+ */
+final class Initialization {
+    private static final Object UNSAFE;
+    private static final Method SHOULD_BE_INITIALIZED;
+
+    static {
+        Object unsafe = null;
+        Method method = null;
+
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            method = type.getMethod("shouldBeInitialized", Class.class);
+            unsafe = field.get(null);
+        } catch (Exception | LinkageError ignored) {
+            method = null;
+        }
+
+        UNSAFE = unsafe;
+        SHOULD_BE_INITIALIZED = method;
+    }
+
+    /**
+     * @return Whether {@link #isInitialized} can tell
+     */
+    static boolean isSupported() {
+        return SHOULD_BE_INITIALIZED != null;
+    }
+
+    /**
+     * @param clazz The class
+     * @return Whether it has been initialised, or may have been. Interfaces are
+     *         always counted, as using one does not always initialise it.
+     */
+    static boolean isInitialized(Class<?> clazz) {
+        if (SHOULD_BE_INITIALIZED == null || clazz.isInterface())
+            return true;
+
+        try {
+            return !(Boolean) SHOULD_BE_INITIALIZED.invoke(UNSAFE, clazz);
+        } catch (Exception e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.script;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the binary launch script format. It is opt-in - the launcher selects it
+ * by sending the header instead of a text line.
+ * <p>
+ * The script starts with the bytes <code>00 'P' 'L' 'S'</code> followed by a
+ * single version byte. After that, it is a sequence of frames, each starting
+ * with a type byte. Integers are 32 bit big-endian, and strings are an integer
+ * byte length followed by UTF-8 data.
+ * <ul>
+ * <li>{@link #PAIR} - a key string and a value string.</li>
+ * <li>{@link #LIST} - a key string, a count and that many value strings.</li>
+ * <li>{@link #FILE} - a path string to a file containing a header and further
+ * frames, which is memory-mapped and read in place of stdin until it ends.</li>
+ * <li>{@link #LAUNCH}, {@link #ABORT} and {@link #DISCARD} - no payload.</li>
+ * </ul>
+ */
+public final class BinaryScriptReader extends ScriptReader {
+    static final byte[] MAGIC = { 0, 'P', 'L', 'S' };
+    public static final int VERSION = 1;
+
+    public static final int PAIR = 1, LIST = 2, FILE = 3, LAUNCH = 4, ABORT = 5, DISCARD = 6;
+    // far beyond any real value, but small enough that a corrupt length fails
+    // cleanly rather than running out of memory
+    static final int MAX_STRING = 16 * 1024 * 1024;
+
+    private final StreamInput in;
+
+    public BinaryScriptReader(InputStream in) throws IOException {
+        this.in = new StreamInput(in);
+
+        readHeader(this.in);
+    }
+
+    /**
+     * @return The bytes a binary script starts with, before the version
+     */
+    public static byte[] getMagic() {
+        return MAGIC.clone();
+    }
+
+    @Override
+    public PreLaunchAction read(Parameters params) throws IOException {
+        PreLaunchAction action = PreLaunchAction.PROCEED;
+
+        while (action == PreLaunchAction.PROCEED) {
+            int type = in.next();
+            if (type != -1)
+                action = readFrame(type, in, params, true);
+            else
+                action = PreLaunchAction.ABORT;
+        }
+
+        return action;
+    }
+
+    @Override
+    public BufferedReader remainder() {
+        return new BufferedReader(new InputStreamReader(in.remainder(), StandardCharsets.UTF_8));
+    }
+
+    private static PreLaunchAction readFile(String path, Parameters params) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            BufferInput in = new BufferInput(buffer);
+
+            readHeader(in);
+
+            PreLaunchAction action = PreLaunchAction.PROCEED;
+
+            while (action == PreLaunchAction.PROCEED) {
+                int type = in.next();
+                if (type == -1)
+                    break;
+
+                action = readFrame(type, in, params, false);
+            }
+
+            return action;
+        }
+    }
+
+    private static void readHeader(Input in) throws IOException {
+        for (byte expected : MAGIC) {
+            if (in.next() != expected)
+                throw new ParseException("binary script header", "00 'P' 'L' 'S' [version]");
+        }
+
+        int version = in.next();
+
+        if (version < 1 || version > VERSION)
+            throw new ParseException("version " + version, "version 1-" + VERSION);
+    }
+
+    private static PreLaunchAction readFrame(int type, Input in, Parameters params, boolean allowFile) throws IOException {
+        switch (type) {
+            case PAIR:
+                params.add(in.readString(), in.readString());
+
+                return PreLaunchAction.PROCEED;
+
+            case LIST:
+                String key = in.readString();
+                int count = in.readLength();
+
+                for (int i = 0; i < count; i++)
+                    params.add(key, in.readString());
+
+                return PreLaunchAction.PROCEED;
+
+            case FILE:
+                if (!allowFile)
+                    throw new ParseException("file frame within a script file", "any frame other than file");
+
+                return readFile(in.readString(), params);
+
+            case LAUNCH:
+                return PreLaunchAction.LAUNCH;
+
+            case ABORT:
+                return PreLaunchAction.ABORT;
+
+            case DISCARD:
+                return PreLaunchAction.DISCARD;
+
+            default:
+                throw new ParseException("frame type " + type, "frame type 1-6");
+        }
+    }
+
+    private abstract static class Input {
+        /**
+         * @return The next unsigned byte, or -1 if the input has ended
+         */
+        abstract int next() throws IOException;
+
+        abstract int readInt() throws IOException;
+
+        abstract void readFully(byte[] bytes) throws IOException;
+
+        /**
+         * @return How many bytes are left, or {@link Long#MAX_VALUE} if not known
+         */
+        abstract long remaining();
+
+        int readLength() throws IOException {
+            int length = readInt();
+
+            if (length < 0)
+                throw new ParseException("length " + (length & 0xFFFFFFFFL), "length below 2^31");
+
+            return length;
+        }
+
+        String readString() throws IOException {
+            int length = readLength();
+
+            if (length > MAX_STRING || length > remaining())
+                throw new ParseException("string of " + length + " bytes",
+                        "string of at most " + Math.min(MAX_STRING, remaining()) + " bytes");
+
+            byte[] bytes = new byte[length];
+            readFully(bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class StreamInput extends Input {
+        private final InputStream in;
+        // buffered here, as going through DataInputStream costs a call per byte
+        private final byte[] buffer = new byte[8192];
+        private int position, limit;
+
+        StreamInput(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        int next() throws IOException {
+            if (!fill(1))
+                return -1;
+
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        int readInt() throws IOException {
+            if (!fill(4))
+                throw new EOFException();
+
+            int result = (buffer[position] & 0xFF) << 24 | (buffer[position + 1] & 0xFF) << 16
+                    | (buffer[position + 2] & 0xFF) << 8 | buffer[position + 3] & 0xFF;
+            position += 4;
+
+            return result;
+        }
+
+        @Override
+        void readFully(byte[] bytes) throws IOException {
+            int buffered = Math.min(limit - position, bytes.length);
+            System.arraycopy(buffer, position, bytes, 0, buffered);
+            position += buffered;
+
+            int offset = buffered;
+
+            while (offset < bytes.length) {
+                int read = in.read(bytes, offset, bytes.length - offset);
+                if (read == -1)
+                    throw new EOFException();
+
+                offset += read;
+            }
+        }
+
+        @Override
+        long remaining() {
+            return Long.MAX_VALUE;
+        }
+
+        InputStream remainder() {
+            return new SequenceInputStream(new ByteArrayInputStream(buffer, position, limit - position), in);
+        }
+
+        // makes sure at least count bytes are buffered, returning false on EOF
+        private boolean fill(int count) throws IOException {
+            if (limit - position >= count)
+                return true;
+
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+
+            while (limit < count) {
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read == -1)
+                    return false;
+
+                limit += read;
+            }
+
+            return true;
+        }
+    }
+
+    private static final class BufferInput extends Input {
+        private final ByteBuffer buffer;
+
+        BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        int next() {
+            if (!buffer.hasRemaining())
+                return -1;
+
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        int readInt() throws IOException {
+            try {
+                return buffer.getInt();
+            } catch (BufferUnderflowException e) {
+                throw new EOFException();
+            }
+        }
+
+        @Override
+        long remaining() {
+            return buffer.remaining();
+        }
+
+        @Override
+        void readFully(byte[] bytes) throws IOException {
+            try {
+                buffer.get(bytes);
+            } catch (BufferUnderflowException e) {
+                throw new EOFException();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.script;
+
+import org.prismlauncher.utils.Parameters;
+import org.prismlauncher.utils.Trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a launch script into {@link Parameters}. Two wire formats are
+ * understood: the line based text format which the launcher has always used,
+ * and the length-prefixed binary format described in {@link BinaryScriptReader}.
+ */
+public abstract class ScriptReader {
+    /**
+     * The name of the trace event marking the first byte of the script.
+     */
+    public static final String FIRST_SCRIPT_LINE = "First script line";
+
+    /**
+     * Reads until the script asks to launch, abort or discard.
+     *
+     * @param params The parameters to add entries to
+     * @return Any action other than {@link PreLaunchAction#PROCEED}
+     * @throws IOException
+     */
+    public abstract PreLaunchAction read(Parameters params) throws IOException;
+
+    /**
+     * Gets a reader for the text which follows the script, including anything
+     * which was read ahead while reading it.
+     *
+     * @return The reader
+     */
+    public abstract BufferedReader remainder();
+
+    /**
+     * Picks a reader based on the first byte of the input. A text script can never
+     * begin with a NUL byte, so that is used to introduce the binary header.
+     *
+     * @param in The input
+     * @return A reader for the detected format
+     * @throws IOException
+     */
+    public static ScriptReader open(InputStream in) throws IOException {
+        if (!in.markSupported())
+            in = new BufferedInputStream(in);
+
+        in.mark(1);
+        int first = in.read();
+        in.reset();
+
+        Trace.instant(FIRST_SCRIPT_LINE);
+
+        // the first byte of BinaryScriptReader.MAGIC, which is not read from there
+        // so that text scripts do not load it
+        if (first == 0)
+            return new BinaryScriptReader(in);
+
+        return new TextScriptReader(in);
+    }
+}
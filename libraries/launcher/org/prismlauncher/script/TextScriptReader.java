@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.script;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the original line based format, where each line is <code>[key]
+ * [value]</code>, <code>launch</code>, <code>abort</code> or
+ * <code>discard</code>.
+ */
+public final class TextScriptReader extends ScriptReader {
+    private final BufferedReader reader;
+
+    public TextScriptReader(InputStream in) {
+        reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public PreLaunchAction read(Parameters params) throws IOException {
+        PreLaunchAction action = PreLaunchAction.PROCEED;
+
+        while (action == PreLaunchAction.PROCEED) {
+            String line = reader.readLine();
+            if (line != null)
+                action = parseLine(line, params);
+            else
+                action = PreLaunchAction.ABORT;
+        }
+
+        return action;
+    }
+
+    @Override
+    public BufferedReader remainder() {
+        return reader;
+    }
+
+    public static PreLaunchAction parseLine(String input, Parameters params) throws ParseException {
+        switch (input) {
+            case "":
+                return PreLaunchAction.PROCEED;
+
+            case "launch":
+                return PreLaunchAction.LAUNCH;
+
+            case "abort":
+                return PreLaunchAction.ABORT;
+
+            case "discard":
+                return PreLaunchAction.DISCARD;
+
+            default:
+                int separator = input.indexOf(' ');
+
+                if (separator == -1)
+                    throw new ParseException(input, "[key] [value]");
+
+                params.add(input.substring(0, separator), input.substring(separator + 1));
+
+                return PreLaunchAction.PROCEED;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils;
+
+import java.io.File;
+
+/**
+ * Locates the directory where NewLaunch keeps its own per-instance files.
+ */
+public final class DataDirectory {
+    private static final String PROPERTY = "org.prismlauncher.dataDir";
+
+    /**
+     * Gets the data directory. This is <code>-Dorg.prismlauncher.dataDir</code>
+     * if set, otherwise <code>newlaunch</code> within the instance directory (the
+     * parent of the game directory NewLaunch is started in).
+     *
+     * @return The directory, which may not exist yet
+     */
+    public static File get() {
+        String override = System.getProperty(PROPERTY);
+        if (override != null)
+            return new File(override);
+
+        File gameDir = new File(System.getProperty("user.dir")).getAbsoluteFile();
+        File instanceDir = gameDir.getParentFile();
+
+        if (instanceDir == null)
+            instanceDir = gameDir;
+
+        return new File(instanceDir, "newlaunch");
+    }
+
+    /**
+     * Resolves a file within the data directory, creating the directory if needed.
+     *
+     * @param name The file name
+     * @return The file
+     */
+    public static File resolve(String name) {
+        File dir = get();
+        dir.mkdirs();
+
+        return new File(dir, name);
+    }
+}
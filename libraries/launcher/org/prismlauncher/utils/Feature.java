@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package org.prismlauncher.utils;
+
+/**
+ * The optional parts of NewLaunch, each turned on by one or more keys in the
+ * launch script. Only those whose keys appear are configured and started, so
+ * that a plain launch does not load any of their classes.
+ */
+public enum Feature {
+    EVENT_CHANNEL("eventChannel"),
+    LOG("logAsync", "logBufferSize", "logOverflow", "dedupOutput", "dedupWindow", "dedupFrames", "rateLimit"),
+    OUTPUT_CAPTURE("classifyOutput", "forwardLevel", "outputAsync", "outputBufferSize", "outputOverflow", "outputFile",
+            "outputFileSize", "outputFileInterval", "outputFileCount", "dedupOutput", "dedupWindow", "dedupFrames",
+            "rateLimit"),
+    METRICS_SAMPLER("metricsInterval"),
+    METRICS_ENDPOINT("metricsPort"),
+    WATCHDOG("watchdogTimeout", "watchdogThread"),
+    PROFILER("profilerRate", "profilerFile", "profilerWriteInterval"),
+    GC_MONITOR("gcReportInterval", "gcPauseWarning"),
+    FLIGHT_RECORDING("jfrSettings", "jfrFile", "jfrMaxAge", "jfrMaxSize"),
+    MEMORY_DIAGNOSTICS("oomDiagnostics", "oomHeapDump", "oomThreshold"),
+    OFF_HEAP_MONITOR("offHeapInterval"),
+    CLASS_GROWTH_MONITOR("classGrowthInterval", "classGrowthSettle"),
+    STARTUP_HISTORY("startupHistory", "startupRegressionThreshold"),
+    CONTROL_CHANNEL("controlChannel");
+
+    private final String[] keys;
+    private boolean enabled;
+
+    Feature(String... keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Notes which features the launch script mentions.
+     *
+     * @param params The parameters
+     */
+    public static void configure(Parameters params) {
+        for (Feature feature : values()) {
+            feature.enabled = false;
+
+            for (String key : feature.keys) {
+                if (params.getString(key, null) != null) {
+                    feature.enabled = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether the launch script has any of this feature's keys
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -57,9 +57,11 @@ package org.prismlauncher.utils;
 import org.prismlauncher.exception.ParameterNotFoundException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public final class Parameters {
     private final Map<String, List<String>> map = new HashMap<>();
@@ -76,6 +78,10 @@ public final class Parameters {
         params.add(value);
     }
 
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
     public List<String> getList(String key) throws ParameterNotFoundException {
         List<String> params = map.get(key);
 
@@ -0,0 +1,310 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils;
+
+import org.prismlauncher.Standby;
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.script.ScriptReader;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the startup timings of recent launches in the data directory, and warns
+ * when a launch is noticeably slower than usual. Enabled with
+ * <code>startupHistory true</code>; the threshold is set with
+ * <code>startupRegressionThreshold [percent]</code>.
+ * <p>
+ * A spare process started with {@link Standby} waits for its script for an
+ * unknown time, so its timings are taken from the first byte of the script
+ * instead of from the JVM starting, leave out whatever began before that (such
+ * as reading the script) and the JVM uptime, and are kept in a history of their
+ * own.
+ */
+public final class StartupHistory {
+    private static final String FILE_NAME = "startup-history.bin", STANDBY_FILE_NAME = "startup-history-standby.bin";
+    private static final int MAGIC = 0x504C5348, VERSION = 1;
+    private static final int KEEP = 50, WINDOW = 10, MIN_SAMPLES = 3;
+    // differences smaller than these are noise, no matter the percentage
+    private static final long MIN_REGRESSION_MICROS = 50000, MIN_REGRESSION_CLASSES = 1000;
+
+    private static boolean enabled;
+    private static int threshold = 25;
+
+    public static void configure(Parameters params) {
+        enabled = "true".equals(params.getString("startupHistory", null));
+
+        String thresholdString = params.getString("startupRegressionThreshold", null);
+
+        if (thresholdString != null) {
+            try {
+                threshold = Integer.parseInt(thresholdString);
+            } catch (NumberFormatException e) {
+                throw new ParseException(thresholdString, "[percent]");
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current timings, then stores and compares it in the
+     * background. Called when the game's main method is about to be invoked.
+     */
+    public static void record() {
+        if (!enabled)
+            return;
+
+        final boolean standby = Standby.isEnabled();
+        final Record record = Record.capture(standby);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                File file = DataDirectory.resolve(standby ? STANDBY_FILE_NAME : FILE_NAME);
+
+                try {
+                    List<Record> history = read(file);
+
+                    compare(record, history.subList(Math.max(0, history.size() - WINDOW), history.size()));
+
+                    history.add(record);
+                    write(file, history.subList(Math.max(0, history.size() - KEEP), history.size()));
+                } catch (IOException e) {
+                    Log.warning("Could not update startup history: " + e);
+                }
+            }
+        }, "NewLaunch Startup History");
+
+        thread.start();
+    }
+
+    private static void compare(Record record, List<Record> previous) {
+        if (previous.size() < MIN_SAMPLES)
+            return;
+
+        for (Map.Entry<String, Long> timing : record.timings.entrySet()) {
+            List<Long> values = new ArrayList<>(previous.size());
+
+            for (Record old : previous) {
+                Long value = old.timings.get(timing.getKey());
+                if (value != null)
+                    values.add(value);
+            }
+
+            long current = timing.getValue();
+            long median = median(values);
+
+            if (!regressed(current, median, MIN_REGRESSION_MICROS))
+                continue;
+
+            Log.warning(String.format(
+                    "Startup regression: '%s' took %dms, the median of the last %d launches is %dms",
+                    timing.getKey(),
+                    current / 1000,
+                    values.size(),
+                    median / 1000));
+        }
+
+        List<Long> classes = new ArrayList<>(previous.size());
+
+        for (Record old : previous)
+            classes.add((long) old.classes);
+
+        long median = median(classes);
+
+        if (regressed(record.classes, median, MIN_REGRESSION_CLASSES))
+            Log.warning(String.format(
+                    "Startup regression: %d classes were loaded, the median of the last %d launches is %d",
+                    record.classes,
+                    classes.size(),
+                    median));
+    }
+
+    // -1 if there are too few values to tell
+    private static long median(List<Long> values) {
+        if (values.size() < MIN_SAMPLES)
+            return -1;
+
+        Collections.sort(values);
+
+        return values.get(values.size() / 2);
+    }
+
+    private static boolean regressed(long current, long median, long minDifference) {
+        return median >= 0 && current - median >= minDifference && current * 100 > median * (100 + threshold);
+    }
+
+    private static List<Record> read(File file) throws IOException {
+        List<Record> result = new ArrayList<>();
+
+        if (!file.isFile())
+            return result;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Log.warning("Discarding startup history in an unknown format");
+                return result;
+            }
+
+            while (true) {
+                long timestamp = in.readLong();
+                int classes = in.readInt();
+                int count = in.readUnsignedShort();
+                Map<String, Long> timings = new LinkedHashMap<>();
+
+                for (int i = 0; i < count; i++)
+                    timings.put(in.readUTF(), in.readLong());
+
+                result.add(new Record(timestamp, classes, timings));
+            }
+        } catch (EOFException e) {
+            // the end of the history, or a record cut short, which is dropped
+        }
+
+        return result;
+    }
+
+    private static void write(File file, List<Record> records) throws IOException {
+        File temp = File.createTempFile(FILE_NAME, ".tmp", file.getParentFile());
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            for (Record record : records) {
+                out.writeLong(record.timestamp);
+                out.writeInt(record.classes);
+                out.writeShort(record.timings.size());
+
+                for (Map.Entry<String, Long> timing : record.timings.entrySet()) {
+                    out.writeUTF(timing.getKey());
+                    out.writeLong(timing.getValue());
+                }
+            }
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+
+        try {
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            temp.delete();
+            throw e;
+        }
+    }
+
+    private static final class Record {
+        private final long timestamp;
+        private final int classes;
+        // all in microseconds
+        private final Map<String, Long> timings;
+
+        private Record(long timestamp, int classes, Map<String, Long> timings) {
+            this.timestamp = timestamp;
+            this.classes = classes;
+            this.timings = timings;
+        }
+
+        private static Record capture(boolean standby) {
+            Map<String, Long> timings = new LinkedHashMap<>();
+            long thread = Thread.currentThread().getId();
+            List<Trace.Event> events = Trace.getEvents();
+            long origin = 0;
+
+            if (standby) {
+                for (Trace.Event event : events) {
+                    if (event.isInstant() && event.getName().equals(ScriptReader.FIRST_SCRIPT_LINE))
+                        origin = event.getStartMicros();
+                }
+            }
+
+            for (Trace.Event event : events) {
+                // worker threads overlap with the main thread, so they would not add up
+                if (event.getThreadId() != thread)
+                    continue;
+
+                // for a spare process, anything from before the script arrived,
+                // including reading it
+                if (event.getStartMicros() < origin)
+                    continue;
+
+                if (event.isInstant()) {
+                    if (event.getStartMicros() > origin)
+                        timings.put("Until " + event.getName(), event.getStartMicros() - origin);
+
+                    continue;
+                }
+
+                Long previous = timings.get(event.getName());
+                timings.put(event.getName(), (previous != null ? previous : 0) + event.getDurationMicros());
+            }
+
+            long gcMillis = 0;
+
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+                gcMillis += Math.max(0, collector.getCollectionTime());
+
+            if (!standby)
+                timings.put("JVM uptime", ManagementFactory.getRuntimeMXBean().getUptime() * 1000);
+
+            timings.put("GC time", gcMillis * 1000);
+
+            int classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+
+            return new Record(System.currentTimeMillis(), classes, timings);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils;
+
+import org.prismlauncher.utils.logging.EventChannel;
+import org.prismlauncher.utils.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the phases of a launch. Events are always kept in memory, as there
+ * are only a handful of them, and are written as a Chrome trace-event file
+ * (which can be opened with Perfetto or <code>chrome://tracing</code>) if the
+ * launch script contains <code>traceFile [path]</code>.
+ * <p>
+ * All times are relative to the start of the JVM. It is only looked up once a
+ * time is asked for, as the management classes it needs take a while to load.
+ */
+public final class Trace {
+    // stands in for the start of the JVM until it is known
+    private static final long FROM_ORIGIN = Long.MIN_VALUE;
+    // more than enough for a launch, but stops repeated launches in benchmarks from piling up
+    private static final int MAX_EVENTS = 4096;
+    private static final List<Event> EVENTS = new ArrayList<>();
+
+    private static File output;
+    // when NewLaunch was entered, by both clocks
+    private static long enteredNanos, enteredMillis;
+    // the thread NewLaunch was entered on, which goes on to run the game
+    private static long mainThread;
+    // System.nanoTime() at the moment the JVM started, once known
+    private static long origin;
+    private static boolean originKnown;
+
+    /**
+     * Records the time between the JVM starting and NewLaunch being entered.
+     * Should be the first thing called.
+     */
+    public static void start() {
+        enteredMillis = System.currentTimeMillis();
+        enteredNanos = System.nanoTime();
+        mainThread = Thread.currentThread().getId();
+
+        add(new Event("JVM start", FROM_ORIGIN, enteredNanos));
+    }
+
+    private static synchronized long origin() {
+        if (originKnown)
+            return origin;
+
+        long nanos = enteredNanos, millis = enteredMillis;
+
+        if (millis == 0) {
+            millis = System.currentTimeMillis();
+            nanos = System.nanoTime();
+        }
+
+        origin = nanos - (millis - ManagementFactory.getRuntimeMXBean().getStartTime()) * 1000000L;
+        originKnown = true;
+
+        return origin;
+    }
+
+    /**
+     * Starts a span on the current thread. It is recorded when closed.
+     *
+     * @param name The name of the phase
+     * @return The span
+     */
+    public static Span begin(String name) {
+        return new Span(name);
+    }
+
+    /**
+     * Records a point in time on the current thread.
+     *
+     * @param name The name of the event
+     */
+    public static void instant(String name) {
+        long now = System.nanoTime();
+        add(new Event(name, now, now));
+    }
+
+    /**
+     * Gets all events recorded so far.
+     *
+     * @return A snapshot of the events
+     */
+    public static List<Event> getEvents() {
+        synchronized (EVENTS) {
+            return new ArrayList<>(EVENTS);
+        }
+    }
+
+    public static void configure(Parameters params) {
+        String path = params.getString("traceFile", null);
+
+        if (path != null)
+            output = new File(path);
+    }
+
+    /**
+     * Writes the trace, if a file was configured, and sends it over the event
+     * channel, if one is open.
+     */
+    public static void save() {
+        if (Feature.EVENT_CHANNEL.isEnabled() && EventChannel.isOpen()) {
+            for (Event event : getEvents())
+                EventChannel.phase(event.thread, event.name, event.getStartMicros(), event.getDurationMicros());
+        }
+
+        if (output == null)
+            return;
+
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(output.toPath()), StandardCharsets.UTF_8)) {
+            // the main thread is not always the same ID, so tools which only want its phases can find it here
+            writer.write("{\"displayTimeUnit\":\"ms\",\"otherData\":{\"mainThread\":" + mainThread
+                    + "},\"traceEvents\":[\n");
+
+            Map<Long, String> threads = new LinkedHashMap<>();
+
+            for (Event event : getEvents()) {
+                writer.write(event.toJson());
+                writer.write(",\n");
+
+                threads.put(event.threadId, event.thread);
+            }
+
+            boolean first = true;
+
+            // name the threads in the viewer
+            for (Map.Entry<Long, String> thread : threads.entrySet()) {
+                if (!first)
+                    writer.write(",\n");
+
+                first = false;
+                writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + thread.getKey()
+                        + ",\"args\":{\"name\":\"" + escape(thread.getValue()) + "\"}}");
+            }
+
+            writer.write("\n]}\n");
+        } catch (IOException e) {
+            Log.warning("Could not write trace: " + e);
+        }
+    }
+
+    private static void add(Event event) {
+        synchronized (EVENTS) {
+            if (EVENTS.size() < MAX_EVENTS)
+                EVENTS.add(event);
+        }
+    }
+
+    private static String escape(String string) {
+        StringBuilder builder = new StringBuilder(string.length());
+
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+
+            if (c == '"' || c == '\\')
+                builder.append('\\').append(c);
+            else if (c < 0x20)
+                builder.append(String.format("\\u%04x", (int) c));
+            else
+                builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final long start;
+        private boolean closed;
+
+        private Span(String name) {
+            this.name = name;
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (closed)
+                return;
+
+            closed = true;
+            add(new Event(name, start, System.nanoTime()));
+        }
+    }
+
+    public static final class Event {
+        private final String name, thread;
+        private final long threadId;
+        private final long start, end;
+
+        private Event(String name, long start, long end) {
+            Thread current = Thread.currentThread();
+
+            this.name = name;
+            this.thread = current.getName();
+            this.threadId = current.getId();
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getThreadId() {
+            return threadId;
+        }
+
+        public boolean isInstant() {
+            return start == end;
+        }
+
+        private long start() {
+            return start == FROM_ORIGIN ? origin() : start;
+        }
+
+        /**
+         * @return Microseconds between the JVM starting and the event
+         */
+        public long getStartMicros() {
+            return (start() - origin()) / 1000;
+        }
+
+        /**
+         * @return The duration in microseconds, or 0 for instant events
+         */
+        public long getDurationMicros() {
+            return (end - start()) / 1000;
+        }
+
+        private String toJson() {
+            StringBuilder builder = new StringBuilder("{\"name\":\"").append(escape(name)).append("\",\"cat\":\"newlaunch\"");
+
+            if (isInstant())
+                builder.append(",\"ph\":\"i\",\"s\":\"p\"");
+            else
+                builder.append(",\"ph\":\"X\",\"dur\":").append(getDurationMicros());
+
+            return builder.append(",\"ts\":")
+                    .append(getStartMicros())
+                    .append(",\"pid\":1,\"tid\":")
+                    .append(threadId)
+                    .append('}')
+                    .toString();
+        }
+    }
+}
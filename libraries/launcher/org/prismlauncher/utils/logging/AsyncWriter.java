@@ -0,0 +1,230 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes log records on a dedicated thread, so that a thread which logs only
+ * has to put the record in a {@link RingBuffer}. The writer formats records in
+ * batches and flushes each stream once per batch.
+ */
+final class AsyncWriter implements Runnable {
+    private static final int BATCH = 256;
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final RingBuffer<Record> buffer;
+    private final Overflow overflow;
+    private final Thread thread;
+    private final AtomicLong dropped = new AtomicLong();
+    // held while taking records and writing them, so that flushes stay in order
+    private final Object writeLock = new Object();
+    private volatile boolean sleeping;
+
+    AsyncWriter(int capacity, Overflow overflow) {
+        buffer = new RingBuffer<>(capacity);
+        this.overflow = overflow;
+
+        thread = new Thread(this, "NewLaunch Log Writer");
+        thread.setDaemon(true);
+        thread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, "NewLaunch Log Flush"));
+    }
+
+    void enqueue(String message, Level level, Throwable throwable) {
+        Record record = new Record(message, level, throwable);
+
+        while (!buffer.offer(record)) {
+            switch (overflow) {
+                case DROP_OLDEST:
+                    if (buffer.poll() != null)
+                        dropped.incrementAndGet();
+
+                    break;
+
+                case DROP_DEBUG:
+                    if (level == Level.DEBUG) {
+                        dropped.incrementAndGet();
+                        return;
+                    }
+
+                    waitForSpace();
+                    break;
+
+                case BLOCK:
+                    waitForSpace();
+                    break;
+            }
+        }
+
+        if (sleeping)
+            LockSupport.unpark(thread);
+    }
+
+    private void waitForSpace() {
+        LockSupport.unpark(thread);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+
+    /**
+     * Writes everything which has been enqueued so far, on the calling thread.
+     */
+    void flush() {
+        synchronized (writeLock) {
+            while (drain() > 0) {
+                // keep going until empty
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            int written;
+
+            synchronized (writeLock) {
+                written = drain();
+            }
+
+            if (written == 0) {
+                sleeping = true;
+
+                if (buffer.isEmpty())
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+
+                sleeping = false;
+            }
+        }
+    }
+
+    // must hold writeLock
+    private int drain() {
+        StringBuilder outText = new StringBuilder(), errText = new StringBuilder();
+        int count = 0;
+        Record record;
+
+        long droppedCount = dropped.getAndSet(0);
+        if (droppedCount > 0)
+            Log.format(outText, droppedCount + " log messages were dropped as the log could not keep up", Level.WARNING);
+
+        while (count < BATCH && (record = buffer.poll()) != null) {
+            count++;
+
+            if (record.throwable == null) {
+                Log.format(record.level.stderr ? errText : outText, record.message, record.level);
+                continue;
+            }
+
+            // keep the stack trace right after its message
+            write(outText, errText);
+            outText.setLength(0);
+            errText.setLength(0);
+
+            PrintStream stream = Log.stream(record.level.stderr);
+            synchronized (stream) {
+                stream.print(Log.format(new StringBuilder(), record.message, record.level));
+                record.throwable.printStackTrace(stream);
+            }
+        }
+
+        write(outText, errText);
+
+        return count;
+    }
+
+    private void write(StringBuilder outText, StringBuilder errText) {
+        if (outText.length() > 0) {
+            PrintStream out = Log.stream(false);
+            out.print(outText);
+            out.flush();
+        }
+
+        if (errText.length() > 0) {
+            PrintStream err = Log.stream(true);
+            err.print(errText);
+            err.flush();
+        }
+    }
+
+    /**
+     * What to do when the buffer is full.
+     */
+    enum Overflow {
+        /** Wait for the writer to catch up. */
+        BLOCK,
+        /** Drop debug messages, and wait for the writer for anything else. */
+        DROP_DEBUG,
+        /** Drop the oldest message to make space. */
+        DROP_OLDEST;
+
+        static Overflow byName(String name) {
+            switch (name) {
+                case "block":
+                    return BLOCK;
+
+                case "drop-debug":
+                    return DROP_DEBUG;
+
+                case "drop-oldest":
+                    return DROP_OLDEST;
+
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final class Record {
+        private final String message;
+        private final Level level;
+        private final Throwable throwable;
+
+        private Record(String message, Level level, Throwable throwable) {
+            this.message = message;
+            this.level = level;
+            this.throwable = throwable;
+        }
+    }
+}
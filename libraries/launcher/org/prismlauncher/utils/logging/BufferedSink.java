@@ -0,0 +1,400 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies lines into chunks of memory which a dedicated thread writes out, so
+ * that a slow reader on the other end of the stream holds up that thread
+ * rather than the game. Once the memory limit is reached, lines either go to a
+ * temporary file (of up to {@link #MAX_SPILL} bytes) until the writer has
+ * caught up, or are dropped and counted; the count is reported in the output
+ * about once a second.
+ */
+final class BufferedSink implements LineSink, Runnable {
+    // the smallest capacity which holds a chunk
+    static final int CHUNK_SIZE = 65536;
+    private static final long MAX_SPILL = 512L * 1024 * 1024;
+    private static final long NOTICE_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    private final OutputStream out;
+    private final long capacity;
+    private final boolean spill;
+    private final Thread thread;
+
+    // everything below is guarded by this
+    private final ArrayDeque<Chunk> queue = new ArrayDeque<>();
+    private final ArrayDeque<Chunk> free = new ArrayDeque<>();
+    private Chunk current;
+    private long used;
+    private boolean writing, waiting, closed;
+    private long dropped;
+
+    private File spillFile;
+    private FileChannel spillChannel;
+    // lines not yet written to the spill file, which the writer may take
+    // straight from here once it has read the file
+    private final byte[] spillPending = new byte[CHUNK_SIZE];
+    private int spillPendingSize;
+    private long spillWritten, spillRead;
+    private boolean spilling;
+
+    /**
+     * @param out      The stream to write to
+     * @param capacity The most memory to use, in bytes
+     * @param spill    Whether to spill to a file rather than dropping lines
+     * @param name     Name of the stream, for the writer thread
+     */
+    BufferedSink(OutputStream out, long capacity, boolean spill, String name) {
+        this.out = out;
+        this.capacity = capacity;
+        this.spill = spill;
+
+        thread = new Thread(this, "NewLaunch Output Writer (" + name + ")");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void line(byte[] buffer, int offset, int length, Level level) {
+        if (closed)
+            return;
+
+        byte[] prefix = StreamSink.prefix(level);
+        int size = prefix.length + length + StreamSink.NEWLINE.length;
+
+        if (!spilling && (current == null || current.data.length - current.size < size)) {
+            if (current != null) {
+                queue.add(current);
+                current = null;
+            }
+
+            if (used + Math.max(size, CHUNK_SIZE) <= capacity)
+                current = allocate(size);
+            else if (!spill || !startSpilling()) {
+                dropped++;
+                return;
+            }
+        }
+
+        if (spilling) {
+            if (spillWritten + spillPendingSize + size > MAX_SPILL) {
+                dropped++;
+                return;
+            }
+
+            try {
+                spill(prefix, 0, prefix.length);
+                spill(buffer, offset, length);
+                spill(StreamSink.NEWLINE, 0, StreamSink.NEWLINE.length);
+            } catch (IOException e) {
+                dropped++;
+            }
+        } else {
+            byte[] data = current.data;
+            int position = current.size;
+
+            System.arraycopy(prefix, 0, data, position, prefix.length);
+            position += prefix.length;
+            System.arraycopy(buffer, offset, data, position, length);
+            position += length;
+            System.arraycopy(StreamSink.NEWLINE, 0, data, position, StreamSink.NEWLINE.length);
+            current.size = position + StreamSink.NEWLINE.length;
+        }
+
+        if (waiting)
+            notifyAll();
+    }
+
+    /**
+     * Does not wait for anything to be written, as the stream is flushed after
+     * every write anyway.
+     */
+    @Override
+    public synchronized void flush() {
+        if (waiting)
+            notifyAll();
+    }
+
+    /**
+     * Waits until everything has been written, for when the game is exiting. A
+     * reader which has stalled would keep the game from exiting, so at the
+     * deadline the rest is given up on, leaving only a notice of how much was
+     * lost for the writer.
+     *
+     * @param deadline When to give up, in {@link System#currentTimeMillis()}
+     *                 time
+     */
+    synchronized void drain(long deadline) {
+        try {
+            while (!closed && (writing || !queue.isEmpty() || current != null && current.size > 0 || spilling
+                    || dropped > 0)) {
+                long remaining = deadline - System.currentTimeMillis();
+
+                if (remaining <= 0) {
+                    abandon();
+                    return;
+                }
+
+                notifyAll();
+                wait(Math.min(100, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // must hold the lock
+    private void abandon() {
+        long bytes = spillWritten - spillRead + spillPendingSize;
+
+        for (Chunk chunk : queue)
+            bytes += chunk.size;
+
+        if (current != null)
+            bytes += current.size;
+
+        String notice = "NewLaunch gave up on " + bytes + " bytes of output which could not be written before exiting";
+
+        if (dropped > 0)
+            notice += ", having already dropped " + dropped + " lines";
+
+        byte[] data = Log.format(new StringBuilder(), notice, Level.WARNING).toString().getBytes(StandardCharsets.UTF_8);
+
+        queue.clear();
+        spilling = false;
+        spillPendingSize = 0;
+        dropped = 0;
+        closed = true;
+
+        // written if the reader ever catches up before the JVM is gone
+        current = new Chunk(data.length);
+        System.arraycopy(data, 0, current.data, 0, data.length);
+        current.size = data.length;
+        used = data.length;
+
+        notifyAll();
+    }
+
+    @Override
+    public void run() {
+        byte[] spillBuffer = null;
+        long lastNotice = 0;
+
+        try {
+            while (true) {
+                Chunk chunk = null;
+                int spilled = 0;
+                long droppedCount = 0;
+
+                synchronized (this) {
+                    writing = false;
+                    notifyAll();
+
+                    while (true) {
+                        if (!queue.isEmpty())
+                            chunk = queue.poll();
+                        else if (current != null && current.size > 0) {
+                            chunk = current;
+                            current = null;
+                        } else if (spilling) {
+                            if (spillBuffer == null)
+                                spillBuffer = new byte[CHUNK_SIZE];
+
+                            if (spillRead < spillWritten)
+                                spilled = (int) Math.min(CHUNK_SIZE, spillWritten - spillRead);
+                            else if (spillPendingSize > 0) {
+                                // everything in the file has been written, so the rest
+                                // can be taken without writing it to the file first
+                                System.arraycopy(spillPending, 0, spillBuffer, 0, spillPendingSize);
+                                spilled = -spillPendingSize;
+                                spillPendingSize = 0;
+                            } else {
+                                stopSpilling();
+                                continue;
+                            }
+                        }
+
+                        long now = System.currentTimeMillis();
+
+                        if (dropped > 0 && now - lastNotice >= NOTICE_INTERVAL) {
+                            droppedCount = dropped;
+                            dropped = 0;
+                            lastNotice = now;
+                        }
+
+                        if (chunk != null || spilled != 0 || droppedCount > 0)
+                            break;
+
+                        waiting = true;
+                        wait(dropped > 0 ? NOTICE_INTERVAL : 0);
+                        waiting = false;
+                    }
+
+                    writing = true;
+                }
+
+                if (droppedCount > 0) {
+                    String notice = "NewLaunch dropped " + droppedCount + " lines of output which could not be written in time";
+                    out.write(Log.format(new StringBuilder(), notice, Level.WARNING).toString().getBytes(StandardCharsets.UTF_8));
+                }
+
+                if (chunk != null) {
+                    out.write(chunk.data, 0, chunk.size);
+                    release(chunk);
+                } else if (spilled < 0)
+                    out.write(spillBuffer, 0, -spilled);
+                else if (spilled > 0) {
+                    ByteBuffer target = ByteBuffer.wrap(spillBuffer, 0, spilled);
+
+                    while (target.hasRemaining()) {
+                        if (spillChannel.read(target, spillRead + target.position()) == -1)
+                            throw new IOException("Output spill file was truncated");
+                    }
+
+                    out.write(spillBuffer, 0, spilled);
+
+                    synchronized (this) {
+                        spillRead += spilled;
+                    }
+                }
+
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // the stream has gone; there is nowhere left to write, so stop holding on to anything
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+                current = null;
+                spilling = false;
+                spillPendingSize = 0;
+                dropped = 0;
+                writing = false;
+                notifyAll();
+            }
+        }
+    }
+
+    // must hold the lock
+    private Chunk allocate(int size) {
+        Chunk chunk = size <= CHUNK_SIZE ? free.poll() : null;
+
+        if (chunk == null)
+            chunk = new Chunk(Math.max(size, CHUNK_SIZE));
+
+        used += chunk.data.length;
+        return chunk;
+    }
+
+    private synchronized void release(Chunk chunk) {
+        used -= chunk.data.length;
+
+        // keep a few around to avoid allocating while the writer keeps up
+        if (chunk.data.length == CHUNK_SIZE && free.size() < 4) {
+            chunk.size = 0;
+            free.add(chunk);
+        }
+    }
+
+    // must hold the lock
+    private boolean startSpilling() {
+        try {
+            if (spillChannel == null) {
+                spillFile = File.createTempFile("newlaunch-output", ".tmp");
+                spillFile.deleteOnExit();
+                spillChannel = new RandomAccessFile(spillFile, "rw").getChannel();
+            }
+
+            spilling = true;
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // must hold the lock
+    private void spill(byte[] buffer, int offset, int length) throws IOException {
+        if (spillPendingSize + length > spillPending.length)
+            writeSpill(spillPending, 0, spillPendingSize);
+
+        if (length > spillPending.length) {
+            writeSpill(buffer, offset, length);
+            return;
+        }
+
+        System.arraycopy(buffer, offset, spillPending, spillPendingSize, length);
+        spillPendingSize += length;
+    }
+
+    // must hold the lock
+    private void writeSpill(byte[] buffer, int offset, int length) throws IOException {
+        ByteBuffer source = ByteBuffer.wrap(buffer, offset, length);
+
+        while (source.hasRemaining())
+            spillWritten += spillChannel.write(source, spillWritten);
+
+        if (buffer == spillPending)
+            spillPendingSize = 0;
+    }
+
+    // must hold the lock
+    private void stopSpilling() throws IOException {
+        spillChannel.truncate(0);
+        spillWritten = spillRead = 0;
+        spilling = false;
+    }
+
+    private static final class Chunk {
+        private final byte[] data;
+        private int size;
+
+        private Chunk(int capacity) {
+            data = new byte[capacity];
+        }
+    }
+}
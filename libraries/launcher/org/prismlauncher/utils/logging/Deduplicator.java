@@ -0,0 +1,316 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decides which messages to let through when something is spamming. Messages
+ * are identified by a fingerprint; after one gets through, repeats of it are
+ * held back until the window has passed, and then reported as a single
+ * summary. On top of that, each level may be limited to a number of lines a
+ * second.
+ * <p>
+ * One instance is used per source, so that summaries end up in the same
+ * stream as what they summarise. Instances are thread-safe.
+ */
+final class Deduplicator {
+    static final int PASS = 0, FIRST_REPEAT = 1, REPEAT = 2, OVER_LIMIT = 3;
+
+    private static final int MAX_ENTRIES = 4096, SAMPLE_LENGTH = 160;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L, FNV_PRIME = 0x100000001b3L;
+
+    private final long window;
+    private final int frames;
+    // lines a second by level ordinal, with unknown levels last; 0 for no limit
+    private final int[] limits;
+
+    private final Map<Long, Seen> entries = new LinkedHashMap<Long, Seen>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Seen> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // entries which have held something back, oldest window first
+    private final ArrayDeque<Seen> pending = new ArrayDeque<>();
+
+    private final int[] counts;
+    private final long[] overLimit;
+    private long second, overLimitSecond;
+
+    private Deduplicator(long window, int frames, int[] limits) {
+        this.window = window;
+        this.frames = frames;
+        this.limits = limits;
+
+        counts = new int[limits.length];
+        overLimit = new long[limits.length];
+    }
+
+    /**
+     * Reads the options from the launch script. <code>dedupOutput true</code>
+     * turns this on; <code>dedupWindow [ms]</code> sets how long repeats are
+     * held back (5000 by default), <code>dedupFrames [n]</code> how many frames
+     * of a stack trace identify it (8 by default), and each
+     * <code>rateLimit [level]=[lines]</code> limits a level to a number of lines
+     * a second. <code>other</code> stands for lines without a known level.
+     *
+     * @param params The parameters
+     * @return A new instance, or <code>null</code> if this is turned off
+     */
+    static Deduplicator create(Parameters params) {
+        if (!"true".equals(params.getString("dedupOutput", null)))
+            return null;
+
+        long window = parseNumber(params.getString("dedupWindow", "5000"), "[ms]");
+        int frames = (int) parseNumber(params.getString("dedupFrames", "8"), "[frames]");
+        int[] limits = new int[Level.values().length + 1];
+
+        for (String limit : params.getList("rateLimit", Collections.<String>emptyList())) {
+            int split = limit.indexOf('=');
+
+            if (split == -1)
+                throw new ParseException(limit, "[level]=[lines]");
+
+            String name = limit.substring(0, split).trim();
+            int index;
+
+            if (name.equalsIgnoreCase("other"))
+                index = limits.length - 1;
+            else {
+                Level level = Level.byName(name);
+
+                if (level == null)
+                    throw new ParseException(limit, "[level]=[lines]");
+
+                index = level.ordinal();
+            }
+
+            limits[index] = (int) parseNumber(limit.substring(split + 1).trim(), "[level]=[lines]");
+        }
+
+        return new Deduplicator(window, frames, limits);
+    }
+
+    private static long parseNumber(String string, String format) {
+        try {
+            long value = Long.parseLong(string);
+
+            if (value >= 0 && value <= Integer.MAX_VALUE)
+                return value;
+        } catch (NumberFormatException ignored) {
+        }
+
+        throw new ParseException(string, format);
+    }
+
+    /**
+     * @return How many frames of a stack trace to include in its fingerprint
+     */
+    int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Records a message and decides whether it should be let through.
+     *
+     * @param fingerprint The fingerprint of the message
+     * @param level       Its level, or <code>null</code>
+     * @param now         The current time in milliseconds
+     * @return {@link #PASS} if it should be let through, {@link #FIRST_REPEAT} if
+     *         it is the first repeat held back in this window, in which case
+     *         {@link #describe} should be called, otherwise {@link #REPEAT} or
+     *         {@link #OVER_LIMIT}
+     */
+    synchronized int check(long fingerprint, Level level, long now) {
+        Seen entry = entries.get(fingerprint);
+
+        if (entry != null && now - entry.start < window) {
+            entry.repeats++;
+
+            if (entry.repeats > 1)
+                return REPEAT;
+
+            entry.level = level;
+            pending.add(entry);
+            return FIRST_REPEAT;
+        }
+
+        int index = level == null ? limits.length - 1 : level.ordinal();
+
+        if (limits[index] > 0) {
+            long currentSecond = now / 1000;
+
+            if (currentSecond != second) {
+                second = currentSecond;
+                Arrays.fill(counts, 0);
+            }
+
+            if (++counts[index] > limits[index]) {
+                overLimit[index]++;
+                overLimitSecond = currentSecond;
+                return OVER_LIMIT;
+            }
+        }
+
+        if (entry == null) {
+            entry = new Seen();
+            entries.put(fingerprint, entry);
+        } else if (entry.repeats > 0) {
+            // still waiting for its summary from the last window, which must come first
+            entry = new Seen();
+            entries.put(fingerprint, entry);
+        }
+
+        entry.start = now;
+        return PASS;
+    }
+
+    /**
+     * Sets the text used to describe a message in its summary.
+     *
+     * @param fingerprint The fingerprint of the message
+     * @param sample      What the message looks like
+     */
+    synchronized void describe(long fingerprint, String sample) {
+        Seen entry = entries.get(fingerprint);
+
+        if (entry != null)
+            entry.sample = sample.length() > SAMPLE_LENGTH ? sample.substring(0, SAMPLE_LENGTH) + "..." : sample;
+    }
+
+    /**
+     * @param now The current time in milliseconds
+     * @return The summaries which are due
+     */
+    synchronized List<Summary> summarize(long now) {
+        List<Summary> summaries = Collections.emptyList();
+        Seen entry;
+
+        while ((entry = pending.peek()) != null && now - entry.start >= window) {
+            if (summaries.isEmpty())
+                summaries = new ArrayList<>();
+
+            pending.poll();
+            summaries.add(new Summary("Repeated " + entry.repeats + " more time" + (entry.repeats == 1 ? "" : "s")
+                    + " in " + window + " ms: " + entry.sample, entry.level));
+            entry.repeats = 0;
+        }
+
+        if (now / 1000 == overLimitSecond)
+            return summaries;
+
+        Level[] levels = Level.values();
+
+        for (int i = 0; i < overLimit.length; i++) {
+            if (overLimit[i] == 0)
+                continue;
+
+            if (summaries.isEmpty())
+                summaries = new ArrayList<>();
+
+            String name = i == levels.length ? "other" : levels[i].name.toLowerCase(Locale.ROOT);
+
+            summaries.add(new Summary("Dropped " + overLimit[i] + " " + name + " lines over the limit of " + limits[i]
+                    + " a second", Level.WARNING));
+            overLimit[i] = 0;
+        }
+
+        return summaries;
+    }
+
+    /**
+     * @return Whether {@link #summarize} may have something to report later
+     */
+    synchronized boolean hasPending() {
+        if (!pending.isEmpty())
+            return true;
+
+        for (long count : overLimit) {
+            if (count > 0)
+                return true;
+        }
+
+        return false;
+    }
+
+    static long hash(long hash, byte[] b, int off, int len) {
+        for (int i = off; i < off + len; i++)
+            hash = (hash ^ (b[i] & 0xff)) * FNV_PRIME;
+
+        return hash;
+    }
+
+    static long hash(long hash, String string) {
+        for (int i = 0; i < string.length(); i++)
+            hash = (hash ^ string.charAt(i)) * FNV_PRIME;
+
+        return hash;
+    }
+
+    static long initialHash() {
+        return FNV_OFFSET;
+    }
+
+    static final class Summary {
+        final String message;
+        final Level level;
+
+        private Summary(String message, Level level) {
+            this.message = message;
+            this.level = level;
+        }
+    }
+
+    private static final class Seen {
+        private long start;
+        private int repeats;
+        private Level level;
+        private String sample = "";
+    }
+}
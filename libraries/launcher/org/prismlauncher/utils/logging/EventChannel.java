@@ -0,0 +1,277 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import org.prismlauncher.utils.Parameters;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A machine-readable side channel for log messages, metrics and launch phases,
+ * so the launcher does not need to scrape them from the game output. Enabled
+ * with <code>eventChannel [path]</code>, where the path is a file or named pipe
+ * (<code>/dev/fd/[n]</code> can be used for an inherited file descriptor).
+ * <p>
+ * Each record is a 32 bit big-endian length followed by that many bytes:
+ * <ul>
+ * <li>a kind byte - {@link #MESSAGE}, {@link #METRIC} or {@link #PHASE}</li>
+ * <li>a 64 bit timestamp in microseconds since the Unix epoch</li>
+ * <li>a level byte - 0 for launcher, 1 for debug, 2 for info, 3 for message,
+ * 4 for warning, 5 for error and 6 for fatal</li>
+ * <li>the thread name and category, as strings</li>
+ * <li>for messages, the text</li>
+ * <li>for metrics, a name and a 64 bit floating point value</li>
+ * <li>for phases, a name, then the start (relative to JVM start) and duration
+ * as 64 bit microsecond counts</li>
+ * </ul>
+ * Strings are a 32 bit byte length followed by UTF-8 data. Records are dropped
+ * rather than blocking when the reader cannot keep up, and the number dropped
+ * is sent as the <code>droppedEvents</code> metric.
+ */
+public final class EventChannel implements Runnable {
+    public static final int MESSAGE = 1, METRIC = 2, PHASE = 3;
+
+    private static final int CAPACITY = 16384, BATCH = 512;
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static volatile EventChannel instance;
+
+    private final String path;
+    private final RingBuffer<Event> buffer = new RingBuffer<>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object writeLock = new Object();
+    private final Thread thread;
+    private volatile boolean sleeping;
+    private DataOutputStream out;
+
+    private EventChannel(String path) {
+        this.path = path;
+
+        thread = new Thread(this, "NewLaunch Event Channel");
+        thread.setDaemon(true);
+    }
+
+    public static void configure(Parameters params) {
+        String path = params.getString("eventChannel", null);
+
+        if (path == null || instance != null)
+            return;
+
+        final EventChannel channel = new EventChannel(path);
+        instance = channel;
+        channel.thread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                channel.flush();
+            }
+        }, "NewLaunch Event Channel Flush"));
+    }
+
+    public static boolean isOpen() {
+        return instance != null;
+    }
+
+    public static void message(Level level, String category, String text) {
+        EventChannel channel = instance;
+
+        if (channel != null)
+            channel.enqueue(new Event(MESSAGE, Thread.currentThread().getName(), level, category, text, 0, 0, 0));
+    }
+
+    public static void metric(String category, String name, double value) {
+        EventChannel channel = instance;
+
+        if (channel != null)
+            channel.enqueue(new Event(METRIC, Thread.currentThread().getName(), Level.INFO, category, name, value, 0, 0));
+    }
+
+    public static void phase(String thread, String name, long startMicros, long durationMicros) {
+        EventChannel channel = instance;
+
+        if (channel != null)
+            channel.enqueue(new Event(PHASE, thread, Level.LAUNCHER, "launch", name, 0, startMicros, durationMicros));
+    }
+
+    /**
+     * Waits until everything sent so far has been written.
+     */
+    public static void flushAll() {
+        EventChannel channel = instance;
+
+        if (channel != null)
+            channel.flush();
+    }
+
+    private void enqueue(Event event) {
+        if (!buffer.offer(event))
+            dropped.incrementAndGet();
+        else if (sleeping)
+            LockSupport.unpark(thread);
+    }
+
+    private void flush() {
+        synchronized (writeLock) {
+            try {
+                while (drain() > 0) {
+                    // keep going until empty
+                }
+            } catch (IOException e) {
+                // nothing more can be done this late
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            // opening a named pipe blocks until there is a reader, so it is done here
+            // and outside the lock, leaving flushes to skip writing until then
+            DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+
+            synchronized (writeLock) {
+                out = stream;
+            }
+
+            while (true) {
+                int written;
+
+                synchronized (writeLock) {
+                    written = drain();
+                }
+
+                if (written == 0) {
+                    sleeping = true;
+
+                    if (buffer.isEmpty())
+                        LockSupport.parkNanos(this, IDLE_NANOS);
+
+                    sleeping = false;
+                }
+            }
+        } catch (IOException e) {
+            instance = null;
+            Log.warning("Event channel closed: " + e);
+        }
+    }
+
+    // must hold writeLock
+    private int drain() throws IOException {
+        if (out == null)
+            return 0;
+
+        long droppedCount = dropped.getAndSet(0);
+        if (droppedCount > 0)
+            write(new Event(METRIC, this.thread.getName(), Level.WARNING, "events", "droppedEvents", droppedCount, 0, 0));
+
+        int count = 0;
+        Event event;
+
+        while (count < BATCH && (event = buffer.poll()) != null) {
+            write(event);
+            count++;
+        }
+
+        if (count > 0 || droppedCount > 0)
+            out.flush();
+
+        return count;
+    }
+
+    private void write(Event event) throws IOException {
+        byte[] thread = event.thread.getBytes(StandardCharsets.UTF_8);
+        byte[] category = event.category.getBytes(StandardCharsets.UTF_8);
+        byte[] text = event.text.getBytes(StandardCharsets.UTF_8);
+
+        int length = 1 + 8 + 1 + 4 + thread.length + 4 + category.length + 4 + text.length;
+
+        if (event.kind == METRIC)
+            length += 8;
+        else if (event.kind == PHASE)
+            length += 16;
+
+        out.writeInt(length);
+        out.writeByte(event.kind);
+        out.writeLong(event.timestamp);
+        out.writeByte(event.level.code);
+        writeString(thread);
+        writeString(category);
+        writeString(text);
+
+        if (event.kind == METRIC)
+            out.writeDouble(event.value);
+        else if (event.kind == PHASE) {
+            out.writeLong(event.start);
+            out.writeLong(event.duration);
+        }
+    }
+
+    private void writeString(byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static final class Event {
+        private final int kind;
+        private final long timestamp;
+        private final Level level;
+        private final String thread, category;
+        // the message, metric name or phase name
+        private final String text;
+        private final double value;
+        private final long start, duration;
+
+        private Event(int kind, String thread, Level level, String category, String text, double value, long start, long duration) {
+            this.kind = kind;
+            this.timestamp = System.currentTimeMillis() * 1000;
+            this.level = level;
+            this.thread = thread;
+            this.category = category;
+            this.text = text;
+            this.value = value;
+            this.start = start;
+            this.duration = duration;
+        }
+    }
+}
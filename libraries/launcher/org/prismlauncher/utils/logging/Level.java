@@ -35,24 +35,61 @@
 
 package org.prismlauncher.utils.logging;
 
+import java.util.Locale;
+
 public enum Level {
-    LAUNCHER("Launcher"),
-    DEBUG("Debug"),
-    INFO("Info"),
-    MESSAGE("Message"),
-    WARNING("Warning"),
-    ERROR("Error", true),
-    FATAL("Fatal", true);
+    LAUNCHER("Launcher", 0),
+    DEBUG("Debug", 1),
+    INFO("Info", 2),
+    MESSAGE("Message", 3),
+    WARNING("Warning", 4),
+    ERROR("Error", 5, true),
+    FATAL("Fatal", 6, true);
 
     String name;
+    // sent over the event channel, so must not change
+    int code;
     boolean stderr;
 
-    Level(String name) {
-        this(name, false);
+    Level(String name, int code) {
+        this(name, code, false);
     }
 
-    Level(String name, boolean stderr) {
+    Level(String name, int code, boolean stderr) {
         this.name = name;
+        this.code = code;
         this.stderr = stderr;
     }
+
+    /**
+     * Finds a level by name, ignoring case. As well as the names here, this takes
+     * the log4j and java.util.logging names which {@link LineClassifier}
+     * recognises, such as <code>warn</code> and <code>severe</code>.
+     *
+     * @param name The name
+     * @return The level, or <code>null</code> if there is none by that name
+     */
+    static Level byName(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "launcher":
+                return LAUNCHER;
+            case "debug":
+            case "trace":
+                return DEBUG;
+            case "info":
+                return INFO;
+            case "message":
+                return MESSAGE;
+            case "warn":
+            case "warning":
+                return WARNING;
+            case "error":
+            case "severe":
+                return ERROR;
+            case "fatal":
+                return FATAL;
+            default:
+                return null;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.IOException;
+
+/**
+ * Only passes on lines of at least a given level. Lines whose level is not
+ * known are passed on from standard error, and dropped from standard output.
+ */
+final class LevelFilter implements LineSink {
+    private final Level minimum;
+    private final boolean passUnknown;
+    private final LineSink next;
+
+    LevelFilter(Level minimum, boolean passUnknown, LineSink next) {
+        this.minimum = minimum;
+        this.passUnknown = passUnknown;
+        this.next = next;
+    }
+
+    @Override
+    public void line(byte[] buffer, int offset, int length, Level level) throws IOException {
+        if (level == null ? passUnknown : level.compareTo(minimum) >= 0)
+            next.line(buffer, offset, length, level);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        next.flush();
+    }
+}
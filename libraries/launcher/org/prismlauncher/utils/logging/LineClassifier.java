@@ -0,0 +1,394 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.IOException;
+
+/**
+ * Works out the level of lines the game prints, so that the launcher does not
+ * have to guess. Gives the same answer as the launcher's own guess: the level
+ * is read from the log4j console layout (<code>[12:34:56]
+ * [main/INFO]</code>) or the bracketed levels of old Forge logs
+ * (<code>[SEVERE]</code>, <code>[STDERR]</code> and so on), but lines
+ * mentioning <code>overwriting existing</code> are always fatal, and stack
+ * traces and lines naming an exception class are always errors. Lines which
+ * are not recognised are passed on without a level and left to the launcher.
+ * <p>
+ * Everything is matched on the raw bytes, as all of the patterns are ASCII.
+ */
+public final class LineClassifier implements LineSink {
+    private final LineSink next;
+
+    public LineClassifier(LineSink next) {
+        this.next = next;
+    }
+
+    @Override
+    public void line(byte[] buffer, int offset, int length, Level level) throws IOException {
+        if (level == null)
+            level = classify(buffer, offset, length);
+
+        next.line(buffer, offset, length, level);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        next.flush();
+    }
+
+    /**
+     * @param buffer The buffer holding the line
+     * @param offset The start of the line
+     * @param length The length of the line
+     * @return The level, or <code>null</code> if it could not be worked out
+     */
+    public Level classify(byte[] buffer, int offset, int length) {
+        int end = offset + length;
+
+        // already tagged, most likely by NewLaunch
+        if (startsWith(buffer, offset, end, "!!["))
+            return null;
+
+        // these override whatever level the line claims, as in the launcher
+        if (contains(buffer, offset, end, "overwriting existing"))
+            return Level.FATAL;
+
+        if (looksLikeError(buffer, offset, end))
+            return Level.ERROR;
+
+        int levelStart = findLog4jLevel(buffer, offset, end);
+
+        if (levelStart != -1)
+            return log4jLevel(buffer, levelStart);
+
+        return bracketLevel(buffer, offset, end);
+    }
+
+    /**
+     * Matches the launcher's patterns for exceptions and stack traces: <code>Exception
+     * in thread</code>, <code>at pkg.Class</code> after whitespace, <code>Caused by:
+     * pkg.Class</code>, a qualified name ending in <code>Exception</code>,
+     * <code>Error</code> or <code>Throwable</code>, and <code>... 12 more</code> at
+     * the end of the line.
+     */
+    private static boolean looksLikeError(byte[] b, int start, int end) {
+        if (contains(b, start, end, "Exception in thread"))
+            return true;
+
+        for (int i = start; i < end; i++) {
+            switch (b[i]) {
+                case 'a':
+                    if (i > start && isWhitespace(b[i - 1]) && startsWith(b, i, end, "at ")
+                            && isQualifiedName(b, i + 3, end))
+                        return true;
+                    break;
+
+                case 'C':
+                    if (startsWith(b, i, end, "Caused by: ") && isQualifiedName(b, i + 11, end))
+                        return true;
+                    break;
+
+                case 'E':
+                    if ((startsWith(b, i, end, "Exception") || startsWith(b, i, end, "Error"))
+                            && endsQualifiedName(b, start, i))
+                        return true;
+                    break;
+
+                case 'T':
+                    if (startsWith(b, i, end, "Throwable") && endsQualifiedName(b, start, i))
+                        return true;
+                    break;
+            }
+        }
+
+        // ... 12 more
+        if (end - start < 10 || !matches(b, end - 5, " more"))
+            return false;
+
+        int i = end - 5;
+
+        while (i > start && b[i - 1] >= '0' && b[i - 1] <= '9')
+            i--;
+
+        return i < end - 5 && i - start >= 4 && b[i - 1] == ' ';
+    }
+
+    /**
+     * Whether a name with at least one dot, such as <code>java.lang.String</code>,
+     * starts at <code>start</code>.
+     */
+    private static boolean isQualifiedName(byte[] b, int start, int end) {
+        int i = start;
+        int parts = 0;
+
+        while (i < end && isIdentifierStart(b[i])) {
+            i++;
+
+            while (i < end && isIdentifierPart(b[i]))
+                i++;
+
+            parts++;
+
+            if (i == end || b[i] != '.')
+                break;
+
+            i++;
+        }
+
+        return parts > 1;
+    }
+
+    /**
+     * Whether the identifier characters before <code>end</code> follow a dot
+     * which itself follows an identifier, as in <code>java.io.IO</code> before
+     * <code>Exception</code>.
+     */
+    private static boolean endsQualifiedName(byte[] b, int start, int end) {
+        int i = end;
+
+        while (i > start && isIdentifierPart(b[i - 1]))
+            i--;
+
+        if (i == start || b[i - 1] != '.')
+            return false;
+
+        for (i -= 2; i >= start && isIdentifierPart(b[i]); i--) {
+            if (isIdentifierStart(b[i]))
+                return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isIdentifierStart(byte c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == '$';
+    }
+
+    private static boolean isIdentifierPart(byte c) {
+        return isIdentifierStart(c) || c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+
+    static boolean isStackTrace(byte[] b, int start, int end) {
+        int i = start;
+
+        while (i < end && (b[i] == ' ' || b[i] == '\t'))
+            i++;
+
+        if (i > start && startsWith(b, i, end, "at "))
+            return true;
+
+        if (startsWith(b, i, end, "Caused by: ") || startsWith(b, i, end, "Suppressed: "))
+            return true;
+
+        // ... 12 more
+        if (startsWith(b, i, end, "... ") && end - i > 9) {
+            int j = i + 4;
+
+            while (j < end && b[j] >= '0' && b[j] <= '9')
+                j++;
+
+            return j > i + 4 && end - j == 5 && startsWith(b, j, end, " more");
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds <code>[time] [thread/LEVEL]</code> anywhere in the line.
+     *
+     * @return The start of <code>LEVEL</code>, or -1 if there is no match
+     */
+    private static int findLog4jLevel(byte[] b, int start, int end) {
+        for (int open = start; open < end; open++) {
+            if (b[open] != '[')
+                continue;
+
+            int i = open + 1;
+
+            while (i < end && (b[i] >= '0' && b[i] <= '9' || b[i] == ':'))
+                i++;
+
+            if (i == open + 1 || !startsWith(b, i, end, "] ["))
+                continue;
+
+            int threadStart = i + 3;
+            int slash = threadStart;
+
+            while (slash < end && b[slash] != '/')
+                slash++;
+
+            if (slash == end || slash == threadStart)
+                continue;
+
+            int levelEnd = slash + 1;
+
+            while (levelEnd < end && b[levelEnd] != ']')
+                levelEnd++;
+
+            if (levelEnd < end && levelEnd > slash + 1)
+                return slash + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return The level named at <code>levelStart</code>, or <code>null</code> if
+     *         it is not one the launcher knows
+     */
+    private static Level log4jLevel(byte[] b, int levelStart) {
+        int levelEnd = levelStart;
+
+        while (b[levelEnd] != ']')
+            levelEnd++;
+
+        switch (levelEnd - levelStart) {
+            case 4:
+                if (matches(b, levelStart, "INFO"))
+                    return Level.MESSAGE;
+                if (matches(b, levelStart, "WARN"))
+                    return Level.WARNING;
+                break;
+
+            case 5:
+                if (matches(b, levelStart, "ERROR"))
+                    return Level.ERROR;
+                if (matches(b, levelStart, "FATAL"))
+                    return Level.FATAL;
+                if (matches(b, levelStart, "DEBUG") || matches(b, levelStart, "TRACE"))
+                    return Level.DEBUG;
+                break;
+        }
+
+        return null;
+    }
+
+    /**
+     * Looks for the bracketed levels of old Forge logs anywhere in the line. Where
+     * there are several, the priority matches what the launcher would pick.
+     */
+    private static Level bracketLevel(byte[] b, int start, int end) {
+        Level result = null;
+        int rank = 0;
+
+        for (int i = start; i < end; i++) {
+            if (b[i] != '[')
+                continue;
+
+            int close = i + 1;
+
+            while (close < end && close - i <= 8 && b[close] != ']')
+                close++;
+
+            if (close == end || b[close] != ']')
+                continue;
+
+            Level level = null;
+            int levelRank = 0;
+
+            switch (close - i - 1) {
+                case 4:
+                    if (matches(b, i + 1, "INFO") || matches(b, i + 1, "FINE")) {
+                        level = Level.MESSAGE;
+                        levelRank = 1;
+                    }
+                    break;
+
+                case 5:
+                    if (matches(b, i + 1, "FINER")) {
+                        level = Level.MESSAGE;
+                        levelRank = 1;
+                    } else if (matches(b, i + 1, "DEBUG")) {
+                        level = Level.DEBUG;
+                        levelRank = 4;
+                    }
+                    break;
+
+                case 6:
+                    if (matches(b, i + 1, "CONFIG") || matches(b, i + 1, "FINEST")) {
+                        level = Level.MESSAGE;
+                        levelRank = 1;
+                    } else if (matches(b, i + 1, "SEVERE") || matches(b, i + 1, "STDERR")) {
+                        level = Level.ERROR;
+                        levelRank = 2;
+                    }
+                    break;
+
+                case 7:
+                    if (matches(b, i + 1, "WARNING")) {
+                        level = Level.WARNING;
+                        levelRank = 3;
+                    }
+                    break;
+            }
+
+            if (levelRank > rank) {
+                result = level;
+                rank = levelRank;
+            }
+
+            i = close;
+        }
+
+        return result;
+    }
+
+    private static boolean contains(byte[] b, int start, int end, String ascii) {
+        for (int i = start; i <= end - ascii.length(); i++) {
+            if (b[i] == ascii.charAt(0) && matches(b, i, ascii))
+                return true;
+        }
+
+        return false;
+    }
+
+    static boolean startsWith(byte[] b, int start, int end, String prefix) {
+        return end - start >= prefix.length() && matches(b, start, prefix);
+    }
+
+    private static boolean matches(byte[] b, int start, String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            if (b[start + i] != ascii.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+}
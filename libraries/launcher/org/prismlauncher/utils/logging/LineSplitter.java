@@ -0,0 +1,146 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Splits what is written to it into lines for a {@link LineSink}. Lines which
+ * arrive whole are passed on without copying; the rest are gathered until the
+ * terminator turns up. Very long lines are split.
+ */
+final class LineSplitter extends OutputStream {
+    private static final int MAX_LINE = 65536;
+
+    private final LineSink sink;
+    private byte[] pending = new byte[256];
+    private int size;
+
+    LineSplitter(LineSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        if (b == '\n') {
+            emit(pending, 0, size);
+            size = 0;
+        } else
+            append(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        int end = off + len;
+        int start = off;
+
+        for (int i = off; i < end; i++) {
+            if (b[i] != '\n')
+                continue;
+
+            if (size == 0)
+                emit(b, start, i - start);
+            else {
+                append(b, start, i - start);
+                emit(pending, 0, size);
+                size = 0;
+            }
+
+            start = i + 1;
+        }
+
+        if (start < end)
+            append(b, start, end - start);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        sink.flush();
+    }
+
+    /**
+     * Passes on what is left of an unfinished line.
+     *
+     * @throws IOException
+     */
+    synchronized void finish() throws IOException {
+        if (size > 0) {
+            emit(pending, 0, size);
+            size = 0;
+        }
+
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void append(byte[] b, int off, int len) throws IOException {
+        while (size + len > MAX_LINE) {
+            int part = MAX_LINE - size;
+
+            System.arraycopy(b, off, grow(MAX_LINE), size, part);
+            emit(pending, 0, MAX_LINE);
+            size = 0;
+            off += part;
+            len -= part;
+        }
+
+        System.arraycopy(b, off, grow(size + len), size, len);
+        size += len;
+    }
+
+    private byte[] grow(int capacity) {
+        if (capacity > pending.length) {
+            byte[] larger = new byte[Math.min(MAX_LINE, Math.max(capacity, pending.length * 2))];
+            System.arraycopy(pending, 0, larger, 0, size);
+            pending = larger;
+        }
+
+        return pending;
+    }
+
+    private void emit(byte[] b, int off, int len) throws IOException {
+        // lines from println on Windows end in \r\n
+        if (len > 0 && b[off + len - 1] == '\r')
+            len--;
+
+        sink.line(b, off, len, null);
+    }
+}
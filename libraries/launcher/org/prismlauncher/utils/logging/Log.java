@@ -35,6 +35,9 @@
 
 package org.prismlauncher.utils.logging;
 
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.Parameters;
+
 import java.io.PrintStream;
 
 /**
@@ -43,9 +46,61 @@ import java.io.PrintStream;
  * messages.
  */
 public final class Log {
-    // original before possibly overridden by MC
-    private static final PrintStream OUT = new PrintStream(System.out), ERR = new PrintStream(System.err);
-    private static final boolean DEBUG = Boolean.getBoolean("org.prismlauncher.debug");
+    // original before possibly overridden by MC, until OutputCapture takes over
+    private static volatile PrintStream out = new PrintStream(System.out), err = new PrintStream(System.err);
+    private static volatile boolean debug = Boolean.getBoolean("org.prismlauncher.debug");
+    private static final String NEWLINE = System.lineSeparator();
+
+    private static volatile AsyncWriter async;
+    private static volatile Deduplicator dedup;
+
+    /**
+     * Applies the logging options from the launch script. With
+     * <code>logAsync true</code>, messages are written by a separate thread;
+     * <code>logBufferSize [n]</code> sets how many messages may be waiting, and
+     * <code>logOverflow [block|drop-debug|drop-oldest]</code> what happens once
+     * that is exceeded. Repeated messages are held back with the options read by
+     * {@link Deduplicator#create}.
+     *
+     * @param params The parameters
+     */
+    public static void configure(Parameters params) {
+        dedup = Deduplicator.create(params);
+
+        if (!"true".equals(params.getString("logAsync", null)) || async != null)
+            return;
+
+        String overflowName = params.getString("logOverflow", "drop-debug");
+        AsyncWriter.Overflow overflow = AsyncWriter.Overflow.byName(overflowName);
+
+        if (overflow == null)
+            throw new ParseException(overflowName, "block|drop-debug|drop-oldest");
+
+        String sizeString = params.getString("logBufferSize", "8192");
+        int size;
+
+        try {
+            size = Integer.parseInt(sizeString);
+        } catch (NumberFormatException e) {
+            throw new ParseException(sizeString, "[size]");
+        }
+
+        async = new AsyncWriter(size, overflow);
+    }
+
+    /**
+     * Sets whether debug messages are shown. This starts out as
+     * <code>-Dorg.prismlauncher.debug</code>.
+     *
+     * @param enabled Whether to show debug messages
+     */
+    public static void setDebug(boolean enabled) {
+        debug = enabled;
+    }
+
+    public static boolean isDebug() {
+        return debug;
+    }
 
     public static void launcher(String message) {
         log(message, Level.LAUNCHER);
@@ -64,17 +119,37 @@ public final class Log {
     }
 
     public static void error(String message, Throwable e) {
-        error(message);
-        e.printStackTrace(ERR);
+        log(message, Level.ERROR, e);
     }
 
     public static void fatal(String message) {
         log(message, Level.FATAL);
+        flush();
     }
 
     public static void fatal(String message, Throwable e) {
-        fatal(message);
-        e.printStackTrace(ERR);
+        log(message, Level.FATAL, e);
+        flush();
+    }
+
+    /**
+     * Reports any messages held back as repeats, and waits until all messages
+     * logged so far have been written.
+     */
+    public static void flush() {
+        Deduplicator filter = dedup;
+
+        if (filter != null) {
+            for (Deduplicator.Summary summary : filter.summarize(Long.MAX_VALUE))
+                write(summary.message, summary.level, null);
+        }
+
+        AsyncWriter writer = async;
+
+        if (writer != null)
+            writer.flush();
+
+        EventChannel.flushAll();
     }
 
     /**
@@ -85,18 +160,113 @@ public final class Log {
      * @param level   The level
      */
     public static void log(String message, Level level) {
-        if (!DEBUG && level == Level.DEBUG)
+        log(message, level, null);
+    }
+
+    /**
+     * Logs a message which is never held back as a repeat, for answers to
+     * something which was asked for and may be asked for again.
+     *
+     * @param message The message
+     * @param level   The level
+     */
+    public static void logRepeatable(String message, Level level) {
+        if (!debug && level == Level.DEBUG)
             return;
 
+        write(message, level, null);
+    }
+
+    private static void log(String message, Level level, Throwable e) {
+        if (!debug && level == Level.DEBUG)
+            return;
+
+        Deduplicator filter = dedup;
+
+        if (filter != null && !allow(filter, message, level, e))
+            return;
+
+        write(message, level, e);
+    }
+
+    private static boolean allow(Deduplicator filter, String message, Level level, Throwable e) {
+        long now = System.currentTimeMillis();
+
+        for (Deduplicator.Summary summary : filter.summarize(now))
+            write(summary.message, summary.level, null);
+
+        long fingerprint = Deduplicator.hash(Deduplicator.initialHash(), message);
+
+        if (e != null) {
+            fingerprint = Deduplicator.hash(fingerprint, e.getClass().getName());
+
+            StackTraceElement[] trace = e.getStackTrace();
+
+            for (int i = 0; i < trace.length && i < filter.getFrames(); i++)
+                fingerprint = Deduplicator.hash(fingerprint, trace[i].toString());
+        }
+
+        int result = filter.check(fingerprint, level, now);
+
+        if (result == Deduplicator.FIRST_REPEAT)
+            filter.describe(fingerprint, message);
+
+        return result == Deduplicator.PASS;
+    }
+
+    private static void write(String message, Level level, Throwable e) {
+        if (EventChannel.isOpen())
+            EventChannel.message(level, "launcher", e == null ? message : message + '\n' + e);
+
+        AsyncWriter writer = async;
+
+        if (writer != null) {
+            writer.enqueue(message, level, e);
+            return;
+        }
+
+        PrintStream stream = stream(level.stderr);
+
+        stream.print(format(new StringBuilder(), message, level));
+
+        if (e != null)
+            e.printStackTrace(stream);
+    }
+
+    /**
+     * Sends messages through {@link OutputCapture} rather than straight to the
+     * original streams, so that they are kept in order with the game's output and
+     * reach the log file.
+     *
+     * @param out The stream for standard output
+     * @param err The stream for standard error
+     */
+    static void setStreams(PrintStream out, PrintStream err) {
+        Log.out = out;
+        Log.err = err;
+    }
+
+    static PrintStream stream(boolean stderr) {
+        return stderr ? err : out;
+    }
+
+    /**
+     * Appends a message with every line prefixed, and a trailing line separator.
+     *
+     * @param builder The builder to append to
+     * @param message The message
+     * @param level   The level
+     * @return The builder
+     */
+    static StringBuilder format(StringBuilder builder, String message, Level level) {
         String prefix = "!![" + level.name + "]!";
-        // prefix first line
-        message = prefix + message;
-        // prefix subsequent lines
-        message = message.replace("\n", "\n" + prefix);
-
-        if (level.stderr)
-            ERR.println(message);
-        else
-            OUT.println(message);
+        int start = 0, end;
+
+        while ((end = message.indexOf('\n', start)) != -1) {
+            builder.append(prefix).append(message, start, end).append('\n');
+            start = end + 1;
+        }
+
+        return builder.append(prefix).append(message, start, message.length()).append(NEWLINE);
     }
 }
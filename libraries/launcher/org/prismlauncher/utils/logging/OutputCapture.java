@@ -0,0 +1,316 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import org.prismlauncher.exception.ParseException;
+import org.prismlauncher.utils.DataDirectory;
+import org.prismlauncher.utils.Parameters;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces {@link System#out} and {@link System#err} right before the game
+ * starts, so that its output can be processed line by line on the way out.
+ * With <code>classifyOutput true</code>, lines are tagged with their level
+ * using a {@link LineClassifier}. With <code>outputAsync true</code>, lines
+ * are handed to a {@link BufferedSink} so that printing never waits for the
+ * launcher to read; <code>outputBufferSize [KiB]</code> sets how much may be held
+ * in memory (8192 by default, and at least 64), and
+ * <code>outputOverflow [spill|drop]</code> whether lines beyond that go to a
+ * temporary file or are dropped (<code>spill</code> by default). On exit, what
+ * is still buffered is waited for for up to {@link #DRAIN_TIMEOUT}
+ * milliseconds. Repeated lines and stack traces are held back
+ * by a {@link SpamFilter}, with the options read by {@link Deduplicator#create}.
+ * <p>
+ * With <code>outputFile true</code>, everything is also written to a
+ * {@link RotatingLogFile} in the <code>logs</code> directory of the NewLaunch
+ * data directory, before repeats are held back or lines are filtered by level. <code>outputFileSize [KiB]</code> (10240 by default) and
+ * <code>outputFileInterval [minutes]</code> (off by default) set when to start a
+ * new file, and <code>outputFileCount [n]</code> how many old ones to keep (10
+ * by default). <code>forwardLevel [level]</code> stops lines below a level from
+ * being sent on to the launcher, which implies <code>classifyOutput</code>.
+ * <p>
+ * Once installed, messages from {@link Log} go through the same buffers and log
+ * file, but skip the filters, as they are already tagged and deduplicated.
+ */
+public final class OutputCapture {
+    // how long a stack trace may be held back by a SpamFilter
+    private static final long HOLD_TIMEOUT = 250;
+    // how long buffered output may hold up exiting
+    private static final long DRAIN_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    private static boolean classify, async, spill;
+    private static long bufferSize;
+    private static boolean file;
+    private static long fileSize, fileInterval;
+    private static int fileCount;
+    private static Level forwardLevel;
+    private static RotatingLogFile logFile;
+    private static Deduplicator outDedup, errDedup;
+    private static LineSplitter out, err;
+    private static SpamFilter filteredOut, filteredErr;
+    private static BufferedSink bufferedOut, bufferedErr;
+
+    public static void configure(Parameters params) {
+        classify = "true".equals(params.getString("classifyOutput", null));
+        outDedup = Deduplicator.create(params);
+        errDedup = Deduplicator.create(params);
+
+        String forward = params.getString("forwardLevel", null);
+
+        if (forward != null) {
+            forwardLevel = Level.byName(forward);
+
+            if (forwardLevel == null)
+                throw new ParseException(forward, "[level]");
+
+            classify = true;
+        }
+
+        file = "true".equals(params.getString("outputFile", null));
+
+        if (file) {
+            fileSize = parseNumber(params.getString("outputFileSize", "10240"), "[KiB]") * 1024;
+            fileInterval = TimeUnit.MINUTES.toMillis(parseNumber(params.getString("outputFileInterval", "0"), "[minutes]"));
+            fileCount = (int) parseNumber(params.getString("outputFileCount", "10"), "[n]");
+        }
+
+        async = "true".equals(params.getString("outputAsync", null));
+
+        if (async) {
+            String overflow = params.getString("outputOverflow", "spill");
+
+            if (!"spill".equals(overflow) && !"drop".equals(overflow))
+                throw new ParseException(overflow, "spill|drop");
+
+            spill = "spill".equals(overflow);
+            String size = params.getString("outputBufferSize", "8192");
+            bufferSize = parseNumber(size, "[KiB]") * 1024;
+
+            if (bufferSize < BufferedSink.CHUNK_SIZE)
+                throw new ParseException(size, "[KiB] of at least " + BufferedSink.CHUNK_SIZE / 1024);
+        }
+    }
+
+    private static long parseNumber(String string, String format) {
+        try {
+            long value = Long.parseLong(string);
+
+            if (value >= 0 && value <= Integer.MAX_VALUE)
+                return value;
+        } catch (NumberFormatException ignored) {
+        }
+
+        throw new ParseException(string, format);
+    }
+
+    /**
+     * Installs the replacement streams, if anything needs them.
+     */
+    public static synchronized void install() {
+        if (!classify && !async && outDedup == null && !file || out != null)
+            return;
+
+        if (file) {
+            try {
+                logFile = new RotatingLogFile(DataDirectory.resolve("logs"), fileSize, fileInterval, fileCount);
+            } catch (IOException e) {
+                Log.warning("Could not open the log file: " + e);
+            }
+        }
+
+        Charset outCharset = charset(System.out, "stdout"), errCharset = charset(System.err, "stderr");
+        LineSink outSink, errSink;
+
+        if (async) {
+            outSink = bufferedOut = new BufferedSink(System.out, bufferSize, spill, "out");
+            errSink = bufferedErr = new BufferedSink(System.err, bufferSize, spill, "err");
+        } else {
+            outSink = new StreamSink(System.out);
+            errSink = new StreamSink(System.err);
+        }
+
+        // NewLaunch's own messages are already tagged and deduplicated
+        LineSink logOutSink = outSink, logErrSink = errSink;
+
+        if (forwardLevel != null) {
+            outSink = new LevelFilter(forwardLevel, false, outSink);
+            errSink = new LevelFilter(forwardLevel, true, errSink);
+        }
+
+        if (outDedup != null) {
+            outSink = filteredOut = new SpamFilter(outDedup, outSink, outCharset);
+            errSink = filteredErr = new SpamFilter(errDedup, errSink, errCharset);
+        }
+
+        // the file gets everything, before anything is held back or filtered
+        if (logFile != null) {
+            outSink = new FileTee(logFile, outSink);
+            errSink = new FileTee(logFile, errSink);
+            logOutSink = new FileTee(logFile, logOutSink);
+            logErrSink = new FileTee(logFile, logErrSink);
+        }
+
+        if (classify) {
+            outSink = new LineClassifier(outSink);
+            errSink = new LineClassifier(errSink);
+        }
+
+        out = new LineSplitter(outSink);
+        err = new LineSplitter(errSink);
+
+        System.setOut(wrap(out, outCharset));
+        System.setErr(wrap(err, errCharset));
+        Log.setStreams(wrap(new LineSplitter(logOutSink), outCharset), wrap(new LineSplitter(logErrSink), errCharset));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                finish();
+            }
+        }, "NewLaunch Output Flush"));
+
+        if (filteredOut != null) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    expireHeld();
+                }
+            }, "NewLaunch Output Timer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    // lets out stack traces which have been held back for too long
+    private static void expireHeld() {
+        try {
+            while (true) {
+                Thread.sleep(HOLD_TIMEOUT);
+
+                long now = System.currentTimeMillis();
+
+                // the filters are only used under their splitter's lock
+                synchronized (out) {
+                    filteredOut.expire(now, HOLD_TIMEOUT);
+                }
+
+                synchronized (err) {
+                    filteredErr.expire(now, HOLD_TIMEOUT);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Passes on any unfinished lines and waits for buffered output to be
+     * written, for when the game is exiting.
+     */
+    public static synchronized void finish() {
+        if (out == null)
+            return;
+
+        try {
+            // under the splitters' locks, as game threads may still be printing
+            synchronized (out) {
+                out.finish();
+
+                if (filteredOut != null)
+                    filteredOut.finish();
+            }
+
+            synchronized (err) {
+                err.finish();
+
+                if (filteredErr != null)
+                    filteredErr.finish();
+            }
+        } catch (IOException ignored) {
+        }
+
+        if (bufferedOut != null) {
+            // the log's own writer thread may still have messages for the buffers
+            Log.flush();
+
+            long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT;
+
+            bufferedOut.drain(deadline);
+            bufferedErr.drain(deadline);
+        }
+    }
+
+    /*
+     * Keeps the encoding System.out and System.err were set up with, so that the
+     * launcher gets the same bytes as before. Java 18 and later can say what it
+     * is; before that it is in a property, and where that is not set (as when
+     * writing to a pipe before Java 18) it is the default.
+     */
+    private static Charset charset(PrintStream stream, String name) {
+        try {
+            return (Charset) PrintStream.class.getMethod("charset").invoke(stream);
+        } catch (ReflectiveOperationException | ClassCastException ignored) {
+        }
+
+        for (String property : new String[] { name + ".encoding", "sun." + name + ".encoding" }) {
+            String encoding = System.getProperty(property);
+
+            if (encoding == null)
+                continue;
+
+            try {
+                return Charset.forName(encoding);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+
+        return Charset.defaultCharset();
+    }
+
+    private static PrintStream wrap(LineSplitter splitter, Charset charset) {
+        try {
+            return new PrintStream(splitter, false, charset.name());
+        } catch (UnsupportedEncodingException e) {
+            return new PrintStream(splitter, false);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free queue which any number of threads may add to and take
+ * from. Each slot carries a sequence number telling whether it is ready to be
+ * written or read for a given lap, so a full or empty queue is detected without
+ * locking.
+ *
+ * @param <T> The element type
+ */
+public final class RingBuffer<T> {
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong(), tail = new AtomicLong();
+
+    /**
+     * @param capacity The capacity, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+
+        mask = size - 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an element if there is space.
+     *
+     * @param element The element
+     * @return <code>false</code> if the buffer is full
+     */
+    public boolean offer(T element) {
+        long position = tail.get();
+        int index;
+
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1))
+                    break;
+            } else if (difference < 0)
+                return false;
+            else
+                position = tail.get();
+        }
+
+        elements.lazySet(index, element);
+        sequences.lazySet(index, position + 1);
+
+        return true;
+    }
+
+    /**
+     * Takes the oldest element.
+     *
+     * @return The element, or <code>null</code> if the buffer is empty
+     */
+    public T poll() {
+        long position = head.get();
+        int index;
+
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1))
+                    break;
+            } else if (difference < 0)
+                return null;
+            else
+                position = head.get();
+        }
+
+        T element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, position + mask + 1);
+
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+}
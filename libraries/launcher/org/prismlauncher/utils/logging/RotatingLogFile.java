@@ -0,0 +1,261 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes lines to <code>latest.log</code> in a directory, starting a new file
+ * once it reaches a size or age. Finished files are renamed to
+ * <code>[date]-[n].log</code> and compressed to <code>.log.gz</code> on a
+ * background thread, keeping only the most recent ones. Files left over from a
+ * previous session are rotated and compressed first. Errors are logged rather
+ * than thrown, so that they never get in the way of the output itself.
+ */
+final class RotatingLogFile {
+    private static final String CURRENT = "latest.log";
+    private static final long FLUSH_INTERVAL = 1000;
+
+    private final File directory;
+    private final long maxSize, maxAge;
+    private final int keep;
+
+    private OutputStream out;
+    private long size, opened, lastFlush;
+    // so that a full disk is only reported once
+    private boolean failing;
+
+    /**
+     * @param directory The directory to write to
+     * @param maxSize   The size at which to rotate, in bytes, or 0
+     * @param maxAge    The age at which to rotate, in milliseconds, or 0
+     * @param keep      How many compressed files to keep
+     * @throws IOException
+     */
+    RotatingLogFile(File directory, long maxSize, long maxAge, int keep) throws IOException {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.keep = keep;
+
+        directory.mkdirs();
+
+        File[] leftovers = directory.listFiles();
+
+        if (leftovers != null) {
+            for (File file : leftovers) {
+                // compressed files which were not finished before the game exited;
+                // the files they came from are still there
+                if (file.getName().endsWith(".gz.tmp"))
+                    Files.deleteIfExists(file.toPath());
+            }
+
+            for (File file : leftovers) {
+                // finished files which were not compressed before the game exited
+                if (file.getName().endsWith(".log") && !file.getName().equals(CURRENT))
+                    compress(file);
+            }
+        }
+
+        File current = new File(directory, CURRENT);
+
+        if (current.exists())
+            compress(rename(current, current.lastModified()));
+
+        open();
+    }
+
+    synchronized void write(byte[] buffer, int offset, int length) {
+        long now = System.currentTimeMillis();
+
+        if (out != null && (maxSize > 0 && size >= maxSize || maxAge > 0 && now - opened >= maxAge))
+            rotate();
+
+        if (out == null)
+            return;
+
+        try {
+            out.write(buffer, offset, length);
+            out.write(StreamSink.NEWLINE);
+            size += length + StreamSink.NEWLINE.length;
+
+            if (now - lastFlush >= FLUSH_INTERVAL) {
+                out.flush();
+                lastFlush = now;
+            }
+
+            failing = false;
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    synchronized void flush() {
+        if (out == null)
+            return;
+
+        try {
+            out.flush();
+        } catch (IOException e) {
+            failed(e);
+        }
+    }
+
+    private void failed(IOException e) {
+        if (!failing)
+            Log.warning("Could not write to the log file: " + e);
+
+        failing = true;
+    }
+
+    // appends, in case latest.log could not be moved out of the way
+    private void open() throws IOException {
+        out = new BufferedOutputStream(new FileOutputStream(new File(directory, CURRENT), true), 65536);
+        size = 0;
+        opened = lastFlush = System.currentTimeMillis();
+    }
+
+    private void rotate() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            failed(e);
+        }
+
+        out = null;
+
+        try {
+            compress(rename(new File(directory, CURRENT), opened));
+        } catch (IOException e) {
+            // carry on with the same file, and try again once it reaches the limit again
+            Log.warning("Could not rotate the log file: " + e);
+        }
+
+        try {
+            open();
+        } catch (IOException e) {
+            Log.warning("Could not reopen the log file, so no more output will be written to it: " + e);
+        }
+    }
+
+    private File rename(File file, long time) throws IOException {
+        String date = new SimpleDateFormat("yyyy-MM-dd").format(new Date(time));
+        File target;
+
+        for (int i = 1;; i++) {
+            target = new File(directory, date + "-" + i + ".log");
+
+            if (!target.exists() && !new File(directory, target.getName() + ".gz").exists())
+                break;
+        }
+
+        Files.move(file.toPath(), target.toPath());
+        return target;
+    }
+
+    private void compress(final File file) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                File temp = new File(directory, file.getName() + ".gz.tmp");
+
+                try {
+                    try (InputStream in = new FileInputStream(file);
+                            OutputStream gzip = new GZIPOutputStream(new FileOutputStream(temp), 65536)) {
+                        byte[] buffer = new byte[65536];
+                        int read;
+
+                        while ((read = in.read(buffer)) != -1)
+                            gzip.write(buffer, 0, read);
+                    }
+
+                    Files.move(temp.toPath(), new File(directory, file.getName() + ".gz").toPath(),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    Files.delete(file.toPath());
+
+                    prune();
+                } catch (IOException e) {
+                    Log.warning("Could not compress " + file + ": " + e);
+                }
+            }
+        }, "NewLaunch Log Compressor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // deletes the oldest compressed files past the limit
+    private void prune() {
+        File[] files = directory.listFiles();
+
+        if (files == null)
+            return;
+
+        File[] compressed = new File[files.length];
+        int count = 0;
+
+        for (File file : files) {
+            if (file.getName().endsWith(".log.gz"))
+                compressed[count++] = file;
+        }
+
+        if (count <= keep)
+            return;
+
+        compressed = Arrays.copyOf(compressed, count);
+        Arrays.sort(compressed, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+
+        for (int i = 0; i < count - keep; i++)
+            compressed[i].delete();
+    }
+}
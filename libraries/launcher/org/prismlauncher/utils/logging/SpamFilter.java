@@ -0,0 +1,285 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Holds back lines and stack traces which repeat, using a
+ * {@link Deduplicator}. Lines are identified by their text, leaving out a
+ * leading timestamp. Stack traces are identified by the exception class and
+ * their first few frames, so they are held until that much of them has been
+ * seen; if one turns out to be a repeat, the rest of it is dropped too.
+ */
+final class SpamFilter implements LineSink {
+    private final Deduplicator dedup;
+    private final LineSink next;
+    private final Charset charset;
+
+    // the stack trace being held, as lines one after another
+    private byte[] held = new byte[4096];
+    private int[] heldEnds = new int[32];
+    private Level[] heldLevels = new Level[32];
+    private int heldSize, heldLines, heldFrames;
+    private long heldHash, heldSince;
+    private boolean holding, dropping;
+
+    SpamFilter(Deduplicator dedup, LineSink next, Charset charset) {
+        this.dedup = dedup;
+        this.next = next;
+        this.charset = charset;
+    }
+
+    @Override
+    public void line(byte[] buffer, int offset, int length, Level level) throws IOException {
+        long now = System.currentTimeMillis();
+
+        report(now);
+
+        if (LineClassifier.isStackTrace(buffer, offset, offset + length)) {
+            if (dropping)
+                return;
+
+            if (!holding) {
+                // part of a trace whose start was let through
+                next.line(buffer, offset, length, level);
+                return;
+            }
+
+            int start = skipIndent(buffer, offset, offset + length);
+
+            hold(buffer, offset, length, level);
+            heldHash = Deduplicator.hash(heldHash, buffer, start, offset + length - start);
+
+            if (buffer[start] == 'a' && ++heldFrames >= dedup.getFrames())
+                release();
+
+            return;
+        }
+
+        if (holding)
+            release();
+
+        dropping = false;
+
+        if (isExceptionHeader(buffer, offset, offset + length)) {
+            holding = true;
+            heldSince = now;
+            heldHash = Deduplicator.hash(Deduplicator.initialHash(), buffer, offset,
+                    headerEnd(buffer, offset, offset + length) - offset);
+            hold(buffer, offset, length, level);
+            return;
+        }
+
+        int start = skipTimestamp(buffer, offset, offset + length);
+        long fingerprint = Deduplicator.hash(Deduplicator.initialHash(), buffer, start, offset + length - start);
+        int result = dedup.check(fingerprint, level, now);
+
+        if (result == Deduplicator.PASS)
+            next.line(buffer, offset, length, level);
+        else if (result == Deduplicator.FIRST_REPEAT)
+            dedup.describe(fingerprint, new String(buffer, start, offset + length - start, charset));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (holding)
+            release();
+
+        report(System.currentTimeMillis());
+        next.flush();
+    }
+
+    /**
+     * Lets out a stack trace which has been held for too long, so that a short
+     * one printed just before the game goes quiet or crashes is still seen.
+     * Must be called under the same lock as {@link #line}.
+     *
+     * @param now     The current time in milliseconds
+     * @param timeout How long a trace may be held for
+     * @throws IOException
+     */
+    void expire(long now, long timeout) throws IOException {
+        if (!holding || now - heldSince < timeout)
+            return;
+
+        release();
+        next.flush();
+    }
+
+    /**
+     * Lets out anything held and reports everything held back, for when the
+     * game is exiting. Must be called under the same lock as {@link #line}.
+     *
+     * @throws IOException
+     */
+    void finish() throws IOException {
+        if (holding)
+            release();
+
+        report(Long.MAX_VALUE);
+        next.flush();
+    }
+
+    private void report(long now) throws IOException {
+        for (Deduplicator.Summary summary : dedup.summarize(now)) {
+            byte[] message = summary.message.getBytes(charset);
+            next.line(message, 0, message.length, summary.level);
+        }
+    }
+
+    private void hold(byte[] buffer, int offset, int length, Level level) {
+        if (heldSize + length > held.length)
+            held = Arrays.copyOf(held, Math.max(heldSize + length, held.length * 2));
+
+        if (heldLines == heldEnds.length) {
+            heldEnds = Arrays.copyOf(heldEnds, heldLines * 2);
+            heldLevels = Arrays.copyOf(heldLevels, heldLines * 2);
+        }
+
+        System.arraycopy(buffer, offset, held, heldSize, length);
+        heldSize += length;
+        heldEnds[heldLines] = heldSize;
+        heldLevels[heldLines] = level;
+        heldLines++;
+    }
+
+    // decides on the trace as of when it started, however long it took to end
+    private void release() throws IOException {
+        Level level = null;
+
+        for (int i = 0; i < heldLines && level == null; i++)
+            level = heldLevels[i];
+
+        int result = dedup.check(heldHash, level, heldSince);
+
+        if (result == Deduplicator.PASS) {
+            int start = 0;
+
+            for (int i = 0; i < heldLines; i++) {
+                next.line(held, start, heldEnds[i] - start, heldLevels[i]);
+                start = heldEnds[i];
+            }
+        } else {
+            if (result == Deduplicator.FIRST_REPEAT)
+                dedup.describe(heldHash, "stack trace " + new String(held, 0, heldEnds[0], charset));
+
+            dropping = true;
+        }
+
+        holding = false;
+        heldSize = heldLines = heldFrames = 0;
+    }
+
+    /**
+     * Matches the first line of a stack trace, such as
+     * <code>java.lang.IllegalStateException: message</code> or
+     * <code>Exception in thread "main" ...</code>.
+     */
+    private static boolean isExceptionHeader(byte[] b, int start, int end) {
+        if (LineClassifier.startsWith(b, start, end, "Exception in thread "))
+            return true;
+
+        int nameEnd = start;
+        boolean dotted = false;
+
+        while (nameEnd < end) {
+            byte c = b[nameEnd];
+
+            if (c == '.')
+                dotted = true;
+            else if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '$'))
+                break;
+
+            nameEnd++;
+        }
+
+        if (!dotted || nameEnd < end && b[nameEnd] != ':')
+            return false;
+
+        return endsWith(b, start, nameEnd, "Exception") || endsWith(b, start, nameEnd, "Error")
+                || endsWith(b, start, nameEnd, "Throwable");
+    }
+
+    // the part of a header which leaves out the message
+    private static int headerEnd(byte[] b, int start, int end) {
+        for (int i = start; i < end - 1; i++) {
+            if (b[i] == ':' && b[i + 1] == ' ')
+                return i;
+        }
+
+        return end;
+    }
+
+    private static boolean endsWith(byte[] b, int start, int end, String suffix) {
+        if (end - start < suffix.length())
+            return false;
+
+        for (int i = 0; i < suffix.length(); i++) {
+            if (b[end - suffix.length() + i] != suffix.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+
+    private static int skipIndent(byte[] b, int start, int end) {
+        while (start < end && (b[start] == ' ' || b[start] == '\t'))
+            start++;
+
+        return start;
+    }
+
+    // leaves out "[12:34:56] " so that a line repeated over several seconds is still a repeat
+    private static int skipTimestamp(byte[] b, int start, int end) {
+        if (start == end || b[start] != '[')
+            return start;
+
+        int i = start + 1;
+
+        while (i < end && (b[i] >= '0' && b[i] <= '9' || b[i] == ':' || b[i] == '.'))
+            i++;
+
+        if (i == end || b[i] != ']')
+            return start;
+
+        i++;
+
+        return i < end && b[i] == ' ' ? i + 1 : i;
+    }
+}
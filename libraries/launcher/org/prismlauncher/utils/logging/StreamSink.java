@@ -0,0 +1,90 @@
+// SPDX-License-Identifier: GPL-3.0-only
+/*
+ *  Prism Launcher - Minecraft Launcher
+ *  Copyright (C) 2026 Prism Launcher Contributors
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, version 3.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  Linking this library statically or dynamically with other modules is
+ *  making a combined work based on this library. Thus, the terms and
+ *  conditions of the GNU General Public License cover the whole
+ *  combination.
+ *
+ *  As a special exception, the copyright holders of this library give
+ *  you permission to link this library with independent modules to
+ *  produce an executable, regardless of the license terms of these
+ *  independent modules, and to copy and distribute the resulting
+ *  executable under terms of your choice, provided that you also meet,
+ *  for each linked independent module, the terms and conditions of the
+ *  license of that module. An independent module is a module which is
+ *  not derived from or based on this library. If you modify this
+ *  library, you may extend this exception to your version of the
+ *  library, but you are not obliged to do so. If you do not wish to do
+ *  so, delete this exception statement from your version.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package org.prismlauncher.utils.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes lines to a stream, with the <code>!![LEVEL]!</code> prefix if the level
+ * is known. Each line goes out in a single write.
+ */
+final class StreamSink implements LineSink {
+    private static final byte[][] PREFIXES = new byte[Level.values().length][];
+    private static final byte[] NO_PREFIX = new byte[0];
+    static final byte[] NEWLINE = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        for (Level level : Level.values())
+            PREFIXES[level.ordinal()] = ("!![" + level.name + "]!").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param level The level, or <code>null</code>
+     * @return The prefix to write before a line with the level
+     */
+    static byte[] prefix(Level level) {
+        return level == null ? NO_PREFIX : PREFIXES[level.ordinal()];
+    }
+
+    private final OutputStream out;
+    private byte[] scratch = new byte[512];
+
+    StreamSink(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public synchronized void line(byte[] buffer, int offset, int length, Level level) throws IOException {
+        byte[] prefix = prefix(level);
+        int size = prefix.length + length + NEWLINE.length;
+
+        if (size > scratch.length)
+            scratch = new byte[Math.max(size, scratch.length * 2)];
+
+        System.arraycopy(prefix, 0, scratch, 0, prefix.length);
+        System.arraycopy(buffer, offset, scratch, prefix.length, length);
+        System.arraycopy(NEWLINE, 0, scratch, prefix.length + length, NEWLINE.length);
+
+        out.write(scratch, 0, size);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+}